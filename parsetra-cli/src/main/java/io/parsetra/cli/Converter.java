@@ -0,0 +1,214 @@
+package io.parsetra.cli;
+
+import io.parsetra.duration.Durations;
+import io.parsetra.size.Sizes;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Streams lines from a channel to a channel, converting one field per line. Bytes outside the converted
+ * field are copied unchanged; only the field itself is decoded. Input and output go through large
+ * reusable buffers, growing only for lines longer than the buffer. Not thread-safe.
+ */
+final class Converter {
+
+    static final int EXIT_OK = 0;
+    static final int EXIT_INVALID = 2;
+
+    /** Longest converted value: a signed 19-digit long or a formatted size/duration. */
+    private static final int MAX_VALUE_BYTES = 40;
+
+    private final Options options;
+    private final PrintStream err;
+    private ByteBuffer in;
+    private ByteBuffer out;
+    private final byte[] digits = new byte[20];
+    private long lineNumber;
+    private boolean failed;
+
+    Converter(Options options, int bufferSize, PrintStream err) {
+        this.options = options;
+        this.err = err;
+        this.in = ByteBuffer.allocate(bufferSize);
+        this.out = ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * Converts all input; returns {@link #EXIT_OK} or {@link #EXIT_INVALID}.
+     */
+    int run(ReadableByteChannel source, WritableByteChannel sink) throws IOException {
+        int scanned = 0;
+        while (source.read(in) >= 0) {
+            byte[] a = in.array();
+            int limit = in.position();
+            int lineStart = 0;
+            for (int i = scanned; i < limit; i++) {
+                if (a[i] == '\n') {
+                    if (!line(a, lineStart, i, true, sink)) {
+                        flush(sink);
+                        return EXIT_INVALID;
+                    }
+                    lineStart = i + 1;
+                }
+            }
+            // Keep the partial last line at the front of the buffer; grow if it fills the buffer.
+            System.arraycopy(a, lineStart, a, 0, limit - lineStart);
+            in.position(limit - lineStart);
+            scanned = in.position();
+            if (!in.hasRemaining()) {
+                ByteBuffer bigger = ByteBuffer.allocate(in.capacity() * 2);
+                bigger.put(a, 0, in.position());
+                in = bigger;
+            }
+        }
+        if (in.position() > 0 && !line(in.array(), 0, in.position(), false, sink)) {
+            flush(sink);
+            return EXIT_INVALID;
+        }
+        flush(sink);
+        return failed ? EXIT_INVALID : EXIT_OK;
+    }
+
+    /** Converts one line {@code a[start, end)}; returns false to abort. */
+    private boolean line(byte[] a, int start, int end, boolean newline, WritableByteChannel sink) throws IOException {
+        lineNumber++;
+        int limit = end > start && a[end - 1] == '\r' ? end - 1 : end;
+        long fieldBounds = lineNumber <= options.header ? -1 : findField(a, start, limit);
+        if (fieldBounds < 0) {
+            copy(a, start, end, newline, sink);
+            return true;
+        }
+        int fs = (int) (fieldBounds >>> 32);
+        int fe = (int) fieldBounds;
+        String field = new String(a, fs, fe - fs, StandardCharsets.UTF_8);
+        long number = 0;
+        String text = null;
+        try {
+            switch (options.mode) {
+                case TO_BYTES:
+                    number = Sizes.parse(field);
+                    break;
+                case TO_NANOS:
+                    number = Durations.parseNanos(field);
+                    break;
+                case TO_HUMAN:
+                    long bytes = parseRaw(field);
+                    text = options.binary ? Sizes.formatBinary(bytes) : Sizes.format(bytes);
+                    break;
+                default:
+                    text = Durations.format(Duration.ofNanos(parseRaw(field)));
+                    break;
+            }
+        } catch (IllegalArgumentException e) {
+            if (options.invalid != Options.Invalid.IGNORE) {
+                err.println("parsetra: line " + lineNumber + ": " + e.getMessage());
+            }
+            if (options.invalid == Options.Invalid.ABORT) {
+                return false;
+            }
+            failed |= options.invalid == Options.Invalid.WARN;
+            copy(a, start, end, newline, sink);
+            return true;
+        }
+        ensure((fs - start) + MAX_VALUE_BYTES + (end - fe) + 1, sink);
+        out.put(a, start, fs - start);
+        if (text == null) {
+            putLong(number);
+        } else {
+            for (int i = 0; i < text.length(); i++) {
+                out.put((byte) text.charAt(i));
+            }
+        }
+        out.put(a, fe, end - fe);
+        if (newline) {
+            out.put((byte) '\n');
+        }
+        return true;
+    }
+
+    /** Returns (start &lt;&lt; 32 | end) of the selected field, or -1 if the line has too few fields. */
+    private long findField(byte[] a, int start, int limit) {
+        int i = start;
+        if (options.delimiter == Options.WHITESPACE) {
+            for (int f = 1; ; f++) {
+                while (i < limit && (a[i] == ' ' || a[i] == '\t')) i++;
+                if (i >= limit) {
+                    return -1;
+                }
+                int fs = i;
+                while (i < limit && a[i] != ' ' && a[i] != '\t') i++;
+                if (f == options.field) {
+                    return ((long) fs << 32) | i;
+                }
+            }
+        }
+        byte delimiter = (byte) options.delimiter;
+        for (int f = 1; f < options.field; f++) {
+            while (i < limit && a[i] != delimiter) i++;
+            if (i >= limit) {
+                return -1;
+            }
+            i++;
+        }
+        int fs = i;
+        while (i < limit && a[i] != delimiter) i++;
+        return ((long) fs << 32) | i;
+    }
+
+    private static long parseRaw(String field) {
+        try {
+            return Long.parseLong(field.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number: '" + field + "'");
+        }
+    }
+
+    private void putLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            out.put(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        if (value < 0) {
+            out.put((byte) '-');
+            value = -value;
+        }
+        int n = digits.length;
+        do {
+            digits[--n] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        out.put(digits, n, digits.length - n);
+    }
+
+    private void copy(byte[] a, int start, int end, boolean newline, WritableByteChannel sink) throws IOException {
+        ensure(end - start + 1, sink);
+        out.put(a, start, end - start);
+        if (newline) {
+            out.put((byte) '\n');
+        }
+    }
+
+    private void ensure(int bytes, WritableByteChannel sink) throws IOException {
+        if (out.remaining() >= bytes) {
+            return;
+        }
+        flush(sink);
+        if (out.capacity() < bytes) {
+            out = ByteBuffer.allocate(Math.max(bytes, out.capacity() * 2));
+        }
+    }
+
+    private void flush(WritableByteChannel sink) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            sink.write(out);
+        }
+        out.clear();
+    }
+}
@@ -0,0 +1,51 @@
+package io.parsetra.cli;
+
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Command-line entry point, similar to coreutils {@code numfmt}:
+ * <pre>
+ * du -b * | parsetra --to-human --binary
+ * cut -d, -f3 latency.csv | parsetra --to-nanos
+ * parsetra --to-bytes --field 2 --delimiter , &lt; quotas.csv
+ * </pre>
+ * Exit status: 0 on success, 1 on usage errors, 2 if a field could not be converted.
+ */
+public final class Main {
+
+    static final int EXIT_USAGE = 1;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private Main() {}
+
+    public static void main(String[] args) throws IOException {
+        try (FileChannel in = new FileInputStream(FileDescriptor.in).getChannel();
+             FileChannel out = new FileOutputStream(FileDescriptor.out).getChannel()) {
+            System.exit(run(args, in, out, System.err));
+        }
+    }
+
+    static int run(String[] args, ReadableByteChannel in, WritableByteChannel out, PrintStream err) throws IOException {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            err.println("parsetra: " + e.getMessage());
+            err.print(Options.USAGE);
+            return EXIT_USAGE;
+        }
+        if (options == null) {
+            err.print(Options.USAGE);
+            return Converter.EXIT_OK;
+        }
+        return new Converter(options, BUFFER_SIZE, err).run(in, out);
+    }
+}
@@ -0,0 +1,172 @@
+package io.parsetra.cli;
+
+/**
+ * Parsed command-line options. Immutable after {@link #parse(String[])}.
+ */
+final class Options {
+
+    /** Conversion applied to the selected field. */
+    enum Mode {
+        /** "10MB" -&gt; "10000000". */
+        TO_BYTES,
+        /** "1536" -&gt; "1.5KB" (or "1.5KiB" with --binary). */
+        TO_HUMAN,
+        /** "2h 30m" -&gt; "9000000000000". */
+        TO_NANOS,
+        /** "9000000000000" -&gt; "2h30m". */
+        TO_DURATION
+    }
+
+    /** What to do with a field that cannot be converted. */
+    enum Invalid {
+        /** Stop at the first invalid field and exit with status 2. */
+        ABORT,
+        /** Print a warning, keep the field unchanged and exit with status 2 at the end. */
+        WARN,
+        /** Keep the field unchanged silently. */
+        IGNORE
+    }
+
+    /** Delimiter value meaning "fields are separated by runs of spaces and tabs". */
+    static final int WHITESPACE = -1;
+
+    static final String USAGE =
+        "Usage: parsetra (--to-bytes | --to-human | --to-nanos | --to-duration) [options] < input\n"
+        + "Converts one field per line between human-readable and raw forms.\n"
+        + "\n"
+        + "  --to-bytes          size to byte count            (10MB -> 10000000)\n"
+        + "  --to-human          byte count to size            (1536 -> 1.5KB)\n"
+        + "  --to-nanos          duration to nanoseconds       (2h30m -> 9000000000000)\n"
+        + "  --to-duration       nanoseconds to duration       (90000000000 -> 1m30s)\n"
+        + "  --binary            with --to-human, use KiB, MiB, ... units\n"
+        + "  --field N           convert field N (1-based, default 1)\n"
+        + "  --delimiter C       single-character field delimiter (default: runs of blanks)\n"
+        + "  --header N          copy the first N lines unchanged\n"
+        + "  --invalid MODE      abort (default), warn or ignore unconvertible fields\n"
+        + "  --help              show this help\n";
+
+    final Mode mode;
+    final boolean binary;
+    final int field;
+    final int delimiter;
+    final long header;
+    final Invalid invalid;
+
+    private Options(Mode mode, boolean binary, int field, int delimiter, long header, Invalid invalid) {
+        this.mode = mode;
+        this.binary = binary;
+        this.field = field;
+        this.delimiter = delimiter;
+        this.header = header;
+        this.invalid = invalid;
+    }
+
+    /**
+     * Parses arguments; returns null if --help was given. Throws IllegalArgumentException on bad usage.
+     */
+    static Options parse(String[] args) {
+        Mode mode = null;
+        boolean binary = false;
+        int field = 1;
+        int delimiter = WHITESPACE;
+        long header = 0;
+        Invalid invalid = Invalid.ABORT;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            String value = null;
+            int eq = arg.indexOf('=');
+            if (arg.startsWith("--") && eq > 0) {
+                value = arg.substring(eq + 1);
+                arg = arg.substring(0, eq);
+            }
+            switch (arg) {
+                case "--help":
+                case "-h":
+                    return null;
+                case "--to-bytes":
+                    mode = setMode(mode, Mode.TO_BYTES);
+                    break;
+                case "--to-human":
+                    mode = setMode(mode, Mode.TO_HUMAN);
+                    break;
+                case "--to-nanos":
+                    mode = setMode(mode, Mode.TO_NANOS);
+                    break;
+                case "--to-duration":
+                    mode = setMode(mode, Mode.TO_DURATION);
+                    break;
+                case "--binary":
+                    binary = true;
+                    break;
+                case "--field":
+                    if (value == null) value = next(args, ++i, arg);
+                    field = parsePositive(value, arg);
+                    break;
+                case "--delimiter":
+                case "-d":
+                    if (value == null) value = next(args, ++i, arg);
+                    if (value.length() != 1 || value.charAt(0) > 0x7F || value.charAt(0) == '\n') {
+                        throw new IllegalArgumentException("--delimiter must be a single ASCII character other than newline");
+                    }
+                    delimiter = value.charAt(0);
+                    break;
+                case "--header":
+                    if (value == null) value = next(args, ++i, arg);
+                    header = parsePositive(value, arg);
+                    break;
+                case "--invalid":
+                    if (value == null) value = next(args, ++i, arg);
+                    invalid = parseInvalid(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (mode == null) {
+            throw new IllegalArgumentException("One of --to-bytes, --to-human, --to-nanos, --to-duration is required");
+        }
+        if (binary && mode != Mode.TO_HUMAN) {
+            throw new IllegalArgumentException("--binary only applies to --to-human");
+        }
+        return new Options(mode, binary, field, delimiter, header, invalid);
+    }
+
+    private static Mode setMode(Mode current, Mode mode) {
+        if (current != null && current != mode) {
+            throw new IllegalArgumentException("Only one conversion mode may be given");
+        }
+        return mode;
+    }
+
+    private static String next(String[] args, int i, String option) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException(option + " requires a value");
+        }
+        return args[i];
+    }
+
+    private static int parsePositive(String value, String option) {
+        try {
+            int n = Integer.parseInt(value);
+            if (n >= 0 && (n > 0 || option.equals("--header"))) {
+                return n;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw new IllegalArgumentException(option + " must be a positive integer: '" + value + "'");
+    }
+
+    private static Invalid parseInvalid(String value) {
+        switch (value) {
+            case "abort":
+                return Invalid.ABORT;
+            case "warn":
+                return Invalid.WARN;
+            case "ignore":
+                return Invalid.IGNORE;
+            default:
+                throw new IllegalArgumentException("--invalid must be abort, warn or ignore: '" + value + "'");
+        }
+    }
+}
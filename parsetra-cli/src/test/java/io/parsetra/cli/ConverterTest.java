@@ -0,0 +1,85 @@
+package io.parsetra.cli;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConverterTest {
+
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+    private int status;
+
+    private String convert(String input, int bufferSize, String... args) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        status = new Converter(Options.parse(args), bufferSize, new PrintStream(err, true, "UTF-8"))
+            .run(Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))),
+                 Channels.newChannel(out));
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void toBytesFirstField() throws IOException {
+        assertEquals("10000000\tdata\n1536  logs\n", convert("10MB\tdata\n1.5KiB  logs\n", 1024, "--to-bytes"));
+        assertEquals(0, status);
+    }
+
+    @Test
+    void toHumanSelectedField() throws IOException {
+        assertEquals("a,1.5KiB,x\r\nb,2GiB\n", convert("a,1536,x\r\nb,2147483648\n", 1024,
+            "--to-human", "--binary", "--field=2", "--delimiter", ","));
+        assertEquals("  1.5KB  /var\n", convert("  1536  /var\n", 1024, "--to-human"));
+    }
+
+    @Test
+    void durationsBothDirections() throws IOException {
+        assertEquals("9000000000000;x\n", convert("2h 30m;x\n", 1024, "--to-nanos", "-d", ";"));
+        assertEquals("req 1m30s\n", convert("req 90000000000\n", 1024, "--to-duration", "--field", "2"));
+    }
+
+    @Test
+    void linesSpanningBufferBoundaries() throws IOException {
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            input.append(i).append("KB some-long-trailing-text-").append(i).append('\n');
+            expected.append(i * 1000L).append(" some-long-trailing-text-").append(i).append('\n');
+        }
+        input.append("7MB no-newline");
+        expected.append("7000000 no-newline");
+        assertEquals(expected.toString(), convert(input.toString(), 16, "--to-bytes"));
+    }
+
+    @Test
+    void headerAndShortLinesCopied() throws IOException {
+        assertEquals("size name\n\n1000 a\n", convert("size name\n\n1KB a\n", 64, "--to-bytes", "--header", "1"));
+    }
+
+    @Test
+    void invalidPolicies() throws IOException {
+        assertEquals("1000\n", convert("1KB\nbogus\n2KB\n", 64, "--to-bytes"));
+        assertEquals(Converter.EXIT_INVALID, status);
+        assertTrue(err.toString().contains("line 2"));
+        assertEquals("1000\nbogus\n2000\n", convert("1KB\nbogus\n2KB\n", 64, "--to-bytes", "--invalid=warn"));
+        assertEquals(Converter.EXIT_INVALID, status);
+        assertEquals("1000\nbogus\n2000\n", convert("1KB\nbogus\n2KB\n", 64, "--to-bytes", "--invalid", "ignore"));
+        assertEquals(Converter.EXIT_OK, status);
+    }
+
+    @Test
+    void usageErrors() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream errStream = new PrintStream(err, true, "UTF-8");
+        assertEquals(Main.EXIT_USAGE, Main.run(new String[0], Channels.newChannel(new ByteArrayInputStream(new byte[0])),
+            Channels.newChannel(out), errStream));
+        assertEquals(Main.EXIT_USAGE, Main.run(new String[] {"--to-bytes", "--binary"},
+            Channels.newChannel(new ByteArrayInputStream(new byte[0])), Channels.newChannel(out), errStream));
+        assertThrows(IllegalArgumentException.class, () -> Options.parse(new String[] {"--to-bytes", "--field", "0"}));
+    }
+}
@@ -0,0 +1,55 @@
+package io.parsetra.load;
+
+import java.util.Random;
+
+/**
+ * Seeded, realistic mix of inputs: valid sizes and durations as they appear in configs and logs
+ * ("512MiB", "1.5GB", "2h 30m", "250ms"), a configurable share of invalid strings (typos, missing
+ * units, garbage), and raw values for the formatters. Immutable once built; shared by all workers.
+ */
+final class Corpus {
+
+    private static final String[] SIZE_UNITS = { "B", "KB", "MB", "GB", "TB", "KiB", "MiB", "GiB", "TiB", "kb", "mb" };
+    private static final String[] DURATION_UNITS = { "ns", "us", "ms", "s", "m", "h", "d", "min", "hours" };
+    private static final String[] INVALID = {
+        "", "   ", "10", "MB", "10XB", "1..5GB", "-5MB", "ten megabytes", "2h 30", "5 parsecs", "1e9B", "NaNms"
+    };
+
+    final String[] sizes;
+    final String[] durations;
+    final long[] values;
+
+    Corpus(int size, double invalidRatio, long seed) {
+        Random rnd = new Random(seed);
+        sizes = new String[size];
+        durations = new String[size];
+        values = new long[size];
+        for (int i = 0; i < size; i++) {
+            boolean invalid = rnd.nextDouble() < invalidRatio;
+            sizes[i] = invalid ? INVALID[rnd.nextInt(INVALID.length)] : size(rnd);
+            invalid = rnd.nextDouble() < invalidRatio;
+            durations[i] = invalid ? INVALID[rnd.nextInt(INVALID.length)] : duration(rnd);
+            // Log-uniform so formatters see every unit.
+            values[i] = rnd.nextLong() >>> (1 + rnd.nextInt(62));
+        }
+    }
+
+    private static String size(Random rnd) {
+        String number = rnd.nextInt(4) == 0
+            ? rnd.nextInt(100) + "." + rnd.nextInt(10)
+            : Integer.toString(1 << rnd.nextInt(12));
+        String space = rnd.nextInt(5) == 0 ? " " : "";
+        return number + space + SIZE_UNITS[rnd.nextInt(SIZE_UNITS.length)];
+    }
+
+    private static String duration(Random rnd) {
+        int segments = 1 + (rnd.nextInt(3) == 0 ? rnd.nextInt(3) : 0);
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < segments; k++) {
+            if (k > 0 && rnd.nextBoolean()) sb.append(' ');
+            sb.append(rnd.nextInt(5) == 0 ? rnd.nextInt(10) + ".5" : Integer.toString(1 + rnd.nextInt(500)));
+            sb.append(DURATION_UNITS[rnd.nextInt(DURATION_UNITS.length)]);
+        }
+        return sb.toString();
+    }
+}
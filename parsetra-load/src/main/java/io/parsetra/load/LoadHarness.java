@@ -0,0 +1,368 @@
+package io.parsetra.load;
+
+import io.parsetra.duration.Durations;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Closed-loop load generator: replays a seeded corpus of valid and invalid sizes and durations through
+ * the public facades at 1..N threads and reports, per thread count, throughput, scaling efficiency,
+ * latency percentiles and allocation per operation. Linear scaling shows up as an efficiency column
+ * near 1.0; contention on shared state shows up as efficiency falling and p99 rising with threads.
+ * <pre>
+ * java -jar target/parsetra-load-0.1.0.jar --threads 1,2,4,8,16 --duration 10s
+ * java -jar target/parsetra-load-0.1.0.jar --virtual --threads 64,1024   (Java 21+)
+ * </pre>
+ * Each operation is timed individually with {@link System#nanoTime()}, which adds a few tens of
+ * nanoseconds per operation; use JMH for absolute single-thread numbers and this for shape.
+ * <p>
+ * Virtual threads are not preempted, so with {@code --virtual} workers run in batches of
+ * {@link Worker#BATCH} operations and yield between them; otherwise only as many workers as there are
+ * carrier threads would ever run. The per-worker operation counts in the report show any worker that got
+ * little or no time.
+ */
+public final class LoadHarness {
+
+    private static final String USAGE =
+        "Usage: java -jar parsetra-load.jar [options]\n"
+        + "  --threads LIST       comma-separated thread counts (default 1,2,4,.. up to the CPU count)\n"
+        + "  --duration D         measured time per run (default 5s)\n"
+        + "  --warmup D           unmeasured time before each run (default 2s)\n"
+        + "  --workload LIST      size-parse, duration-parse, size-format, duration-format, mixed (default all)\n"
+        + "  --invalid-ratio R    share of invalid inputs in the corpus, 0..1 (default 0.05)\n"
+        + "  --corpus N           corpus entries (default 65536)\n"
+        + "  --seed S             corpus seed (default 1)\n"
+        + "  --virtual            run workers on virtual threads (Java 21+); workers yield every "
+        + "256 operations\n";
+
+    private LoadHarness() {}
+
+    public static void main(String[] args) throws Exception {
+        int[] threads = null;
+        long durationNanos = 5_000_000_000L;
+        long warmupNanos = 2_000_000_000L;
+        Set<Workload> workloads = EnumSet.allOf(Workload.class);
+        double invalidRatio = 0.05;
+        int corpusSize = 1 << 16;
+        long seed = 1;
+        boolean virtual = false;
+        ThreadFactory factory;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                switch (arg) {
+                    case "--threads":
+                        threads = parseThreads(next(args, ++i, arg));
+                        break;
+                    case "--duration":
+                        durationNanos = Durations.parseNanos(next(args, ++i, arg));
+                        break;
+                    case "--warmup":
+                        warmupNanos = Durations.parseNanos(next(args, ++i, arg));
+                        break;
+                    case "--workload":
+                        workloads = parseWorkloads(next(args, ++i, arg));
+                        break;
+                    case "--invalid-ratio":
+                        invalidRatio = Double.parseDouble(next(args, ++i, arg));
+                        if (!(invalidRatio >= 0 && invalidRatio <= 1)) {
+                            throw new IllegalArgumentException("--invalid-ratio must be between 0 and 1");
+                        }
+                        break;
+                    case "--corpus":
+                        corpusSize = Integer.parseInt(next(args, ++i, arg));
+                        if (corpusSize <= 0) {
+                            throw new IllegalArgumentException("--corpus must be positive");
+                        }
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(next(args, ++i, arg));
+                        break;
+                    case "--virtual":
+                        virtual = true;
+                        break;
+                    case "--help":
+                    case "-h":
+                        System.out.print(USAGE);
+                        return;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            if (durationNanos <= 0 || warmupNanos < 0) {
+                throw new IllegalArgumentException("--duration must be positive and --warmup non-negative");
+            }
+            factory = virtual ? ThreadFactory.virtual() : ThreadFactory.PLATFORM;
+        } catch (IllegalArgumentException e) {
+            System.err.println("parsetra-load: " + e.getMessage());
+            System.err.print(USAGE);
+            System.exit(1);
+            return;
+        }
+        if (threads == null) {
+            threads = defaultThreads(Runtime.getRuntime().availableProcessors());
+        }
+
+        Corpus corpus = new Corpus(corpusSize, invalidRatio, seed);
+        System.out.printf(Locale.ROOT, "parsetra-load: %s %s, %d CPUs, %s threads, corpus %d (%.0f%% invalid), seed %d%n",
+            System.getProperty("java.vm.name"), System.getProperty("java.version"),
+            Runtime.getRuntime().availableProcessors(), virtual ? "virtual" : "platform",
+            corpusSize, invalidRatio * 100, seed);
+        for (Workload workload : workloads) {
+            System.out.printf(Locale.ROOT, "%n%s%n", workload.name().toLowerCase(Locale.ROOT).replace('_', '-'));
+            System.out.printf(Locale.ROOT, "%8s %14s %10s %9s %9s %9s %9s %10s %12s %12s%n",
+                "threads", "ops/s", "scaling", "p50 ns", "p99 ns", "p99.9 ns", "max ns", "alloc B/op",
+                "min ops/wkr", "max ops/wkr");
+            double baseline = 0;
+            for (int n : threads) {
+                if (warmupNanos > 0) {
+                    run(workload, corpus, n, warmupNanos, factory);
+                }
+                Result r = run(workload, corpus, n, durationNanos, factory);
+                double throughput = r.histogram.count() / (r.elapsedNanos / 1e9);
+                if (baseline == 0) {
+                    baseline = throughput / n;
+                }
+                System.out.printf(Locale.ROOT, "%8d %14.0f %10.2f %9d %9d %9d %9d %10s %12d %12d%n",
+                    n, throughput, throughput / (baseline * n),
+                    r.histogram.percentile(50), r.histogram.percentile(99), r.histogram.percentile(99.9),
+                    r.histogram.max(),
+                    r.allocatedBytes < 0 ? "n/a" : String.format(Locale.ROOT, "%.1f",
+                        r.allocatedBytes / (double) r.histogram.count()),
+                    r.minWorkerOps, r.maxWorkerOps);
+                if (r.idleWorkers > 0) {
+                    System.out.printf(Locale.ROOT, "%8s warning: %d of %d workers completed no operations%n",
+                        "", r.idleWorkers, n);
+                }
+            }
+        }
+        System.out.println();
+        System.out.println("scaling = throughput(n) / (n * per-thread throughput of the first row); 1.00 is linear.");
+    }
+
+    /** Runs one measured interval: all workers start together and stop on a shared flag. */
+    static Result run(Workload workload, Corpus corpus, int threads, long nanos, ThreadFactory factory)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Worker[] workers = new Worker[threads];
+        Thread[] running = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            // Spread start offsets so threads do not walk the corpus in lockstep.
+            workers[t] = new Worker(workload, corpus, (int) ((long) t * corpus.sizes.length / threads), start,
+                factory.yields);
+            running[t] = factory.newThread(workers[t]);
+            running[t].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        Worker.stop(workers);
+        for (Thread thread : running) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        Result result = new Result(elapsed);
+        result.minWorkerOps = Long.MAX_VALUE;
+        for (Worker w : workers) {
+            if (w.failure != null) {
+                throw new IllegalStateException("worker failed", w.failure);
+            }
+            long ops = w.histogram.count();
+            result.minWorkerOps = Math.min(result.minWorkerOps, ops);
+            result.maxWorkerOps = Math.max(result.maxWorkerOps, ops);
+            if (ops == 0) {
+                result.idleWorkers++;
+            }
+            result.histogram.add(w.histogram);
+            result.allocatedBytes = result.allocatedBytes < 0 || w.allocatedBytes < 0
+                ? -1 : result.allocatedBytes + w.allocatedBytes;
+        }
+        return result;
+    }
+
+    static int[] defaultThreads(int cpus) {
+        List<Integer> counts = new ArrayList<>();
+        for (int n = 1; n < cpus; n <<= 1) {
+            counts.add(n);
+        }
+        counts.add(cpus);
+        int[] result = new int[counts.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = counts.get(i);
+        }
+        return result;
+    }
+
+    private static int[] parseThreads(String value) {
+        String[] parts = value.split(",");
+        int[] result = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Integer.parseInt(parts[i].trim());
+            if (result[i] <= 0) {
+                throw new IllegalArgumentException("--threads must be positive: '" + value + "'");
+            }
+        }
+        return result;
+    }
+
+    private static Set<Workload> parseWorkloads(String value) {
+        Set<Workload> result = EnumSet.noneOf(Workload.class);
+        for (String part : value.split(",")) {
+            try {
+                result.add(Workload.valueOf(part.trim().toUpperCase(Locale.ROOT).replace('-', '_')));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown workload: '" + part + "'");
+            }
+        }
+        return result;
+    }
+
+    private static String next(String[] args, int i, String option) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException(option + " requires a value");
+        }
+        return args[i];
+    }
+
+    /** Merged outcome of one run. */
+    static final class Result {
+        final long elapsedNanos;
+        final LatencyHistogram histogram = new LatencyHistogram();
+        /** Total bytes allocated by the workers, or -1 if the JVM cannot attribute allocation to them. */
+        long allocatedBytes;
+        /** Fewest and most operations completed by a single worker. */
+        long minWorkerOps;
+        long maxWorkerOps;
+        /** Workers that completed no operation at all. */
+        int idleWorkers;
+
+        Result(long elapsedNanos) {
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+
+    /** One load-generating thread with its own histogram, so recording never contends. */
+    private static final class Worker implements Runnable {
+        /** Operations between checks of the stop flag, and between yields when {@link #yields} is set. */
+        static final int BATCH = 256;
+
+        private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+        private final Workload workload;
+        private final Corpus corpus;
+        private final CountDownLatch start;
+        private final boolean yields;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private volatile boolean stopped;
+        private int index;
+        long allocatedBytes = -1;
+        long sink;
+        Throwable failure;
+
+        Worker(Workload workload, Corpus corpus, int index, CountDownLatch start, boolean yields) {
+            this.workload = workload;
+            this.corpus = corpus;
+            this.index = index;
+            this.start = start;
+            this.yields = yields;
+        }
+
+        static void stop(Worker[] workers) {
+            for (Worker w : workers) {
+                w.stopped = true;
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                start.await();
+                long allocBefore = allocatedBytes();
+                int size = corpus.sizes.length;
+                int i = index;
+                long acc = 0;
+                while (!stopped) {
+                    for (int b = 0; b < BATCH; b++) {
+                        long t0 = System.nanoTime();
+                        acc += workload.run(corpus, i);
+                        histogram.record(System.nanoTime() - t0);
+                        if (++i == size) {
+                            i = 0;
+                        }
+                    }
+                    if (yields) {
+                        // Virtual threads are never preempted; give the other workers their carrier time.
+                        Thread.yield();
+                    }
+                }
+                long allocAfter = allocatedBytes();
+                allocatedBytes = allocBefore < 0 || allocAfter < 0 ? -1 : allocAfter - allocBefore;
+                sink = acc;
+            } catch (Throwable t) {
+                failure = t;
+            }
+        }
+
+        /** Bytes allocated by the current thread so far, or -1 where unsupported (including virtual threads). */
+        private static long allocatedBytes() {
+            if (!(THREADS instanceof com.sun.management.ThreadMXBean)) {
+                return -1;
+            }
+            com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) THREADS;
+            if (!mx.isThreadAllocatedMemorySupported() || !mx.isThreadAllocatedMemoryEnabled()) {
+                return -1;
+            }
+            return mx.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+
+    /** Creates worker threads; virtual threads are reached reflectively so the harness still builds for Java 8. */
+    abstract static class ThreadFactory {
+        static final ThreadFactory PLATFORM = new ThreadFactory(false) {
+            @Override
+            Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "parsetra-load");
+                t.setDaemon(true);
+                return t;
+            }
+        };
+
+        /** True if workers must yield between batches because the threads are not preempted. */
+        final boolean yields;
+
+        ThreadFactory(boolean yields) {
+            this.yields = yields;
+        }
+
+        abstract Thread newThread(Runnable r);
+
+        static ThreadFactory virtual() {
+            final Object builder;
+            final Method unstarted;
+            try {
+                builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                unstarted = Class.forName("java.lang.Thread$Builder").getMethod("unstarted", Runnable.class);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("--virtual requires Java 21 or later");
+            }
+            return new ThreadFactory(true) {
+                @Override
+                Thread newThread(Runnable r) {
+                    try {
+                        return (Thread) unstarted.invoke(builder, r);
+                    } catch (ReflectiveOperationException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.parsetra.load;
+
+import io.parsetra.duration.Durations;
+import io.parsetra.size.Sizes;
+
+import java.time.Duration;
+
+/**
+ * One operation against the library per call. Invalid inputs are part of the corpus, so the
+ * exception path is measured too. Each call returns a value the caller folds into a sink so the
+ * JIT cannot drop the work.
+ */
+enum Workload {
+    SIZE_PARSE {
+        @Override
+        long run(Corpus c, int i, int variant) {
+            try {
+                return Sizes.parse(c.sizes[i]);
+            } catch (IllegalArgumentException e) {
+                return -1;
+            }
+        }
+    },
+    DURATION_PARSE {
+        @Override
+        long run(Corpus c, int i, int variant) {
+            try {
+                return Durations.parse(c.durations[i]).toNanos();
+            } catch (IllegalArgumentException e) {
+                return -1;
+            }
+        }
+    },
+    SIZE_FORMAT {
+        @Override
+        long run(Corpus c, int i, int variant) {
+            return (variant & 1) == 0 ? Sizes.format(c.values[i]).length() : Sizes.formatBinary(c.values[i]).length();
+        }
+    },
+    DURATION_FORMAT {
+        @Override
+        long run(Corpus c, int i, int variant) {
+            Duration d = Duration.ofNanos(c.values[i]);
+            return (variant & 1) == 0 ? Durations.format(d).length() : Durations.formatHuman(d).length();
+        }
+    },
+    /**
+     * Round-robin over all of the above. The low two bits of the variant pick the workload and the rest
+     * pick its formatter, so every formatter path runs, not only those whose index parity matches.
+     */
+    MIXED {
+        @Override
+        long run(Corpus c, int i, int variant) {
+            return SINGLE[variant & 3].run(c, i, variant >>> 2);
+        }
+    };
+
+    private static final Workload[] SINGLE = { SIZE_PARSE, DURATION_PARSE, SIZE_FORMAT, DURATION_FORMAT };
+
+    /** Runs the operation on corpus entry {@code index}; the index also picks the formatter variant. */
+    final long run(Corpus corpus, int index) {
+        return run(corpus, index, index);
+    }
+
+    /** Runs the operation on corpus entry {@code index}; {@code variant} chooses between formatters. */
+    abstract long run(Corpus corpus, int index, int variant);
+}
@@ -0,0 +1,118 @@
+package io.parsetra.load;
+
+import io.parsetra.duration.Durations;
+import io.parsetra.size.Sizes;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int v = 1; v <= 100; v++) {
+            h.record(v);
+        }
+        assertEquals(100, h.count());
+        assertEquals(50, h.percentile(50));
+        assertEquals(99, h.percentile(99));
+        assertEquals(100, h.percentile(100));
+    }
+
+    @Test
+    void largeValuesWithinRelativePrecision() {
+        LatencyHistogram h = new LatencyHistogram();
+        long[] values = { 1_000, 12_345, 1_000_000, 987_654_321L, Long.MAX_VALUE };
+        for (long v : values) {
+            LatencyHistogram single = new LatencyHistogram();
+            single.record(v);
+            single.record(0);
+            long reported = single.percentile(100);
+            assertEquals(v, reported, "max is exact");
+            long bucket = LatencyHistogram.highestEquivalent(LatencyHistogram.index(v));
+            assertTrue(bucket >= v && bucket - v <= v / 64, v + " -> " + bucket);
+            h.record(v);
+        }
+        assertEquals(Long.MAX_VALUE, h.max());
+    }
+
+    @Test
+    void bucketsAreContiguous() {
+        for (int i = 1; i < 3000; i++) {
+            long low = LatencyHistogram.highestEquivalent(i - 1) + 1;
+            assertEquals(i, LatencyHistogram.index(low));
+            assertEquals(i, LatencyHistogram.index(LatencyHistogram.highestEquivalent(i)));
+        }
+    }
+
+    @Test
+    void addMergesWorkers() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        a.record(10);
+        b.record(20);
+        b.record(30);
+        a.add(b);
+        assertEquals(3, a.count());
+        assertEquals(30, a.max());
+        assertEquals(20, a.percentile(50));
+    }
+
+    @Test
+    void shortRunProducesResults() throws InterruptedException {
+        Corpus corpus = new Corpus(1024, 0.2, 1);
+        for (Workload w : Workload.values()) {
+            LoadHarness.Result r = LoadHarness.run(w, corpus, 2, 20_000_000L, LoadHarness.ThreadFactory.PLATFORM);
+            assertTrue(r.histogram.count() > 0, w.name());
+            assertEquals(0, r.idleWorkers, w.name());
+            assertTrue(r.minWorkerOps > 0 && r.minWorkerOps <= r.maxWorkerOps, w.name());
+        }
+        assertArrayEquals(new int[] { 1, 2, 4, 6 }, LoadHarness.defaultThreads(6));
+    }
+
+    @Test
+    void mixedRunsEveryFormatter() {
+        Corpus corpus = new Corpus(1024, 0, 1);
+        boolean sizeDecimal = false;
+        boolean sizeBinary = false;
+        boolean durationCompact = false;
+        boolean durationHuman = false;
+        for (int i = 0; i < corpus.values.length; i++) {
+            long mixed = Workload.MIXED.run(corpus, i);
+            long v = corpus.values[i];
+            if ((i & 3) == 2) {
+                long decimal = Sizes.format(v).length();
+                long binary = Sizes.formatBinary(v).length();
+                sizeDecimal |= mixed == decimal && decimal != binary;
+                sizeBinary |= mixed == binary && decimal != binary;
+            } else if ((i & 3) == 3) {
+                long compact = Durations.format(Duration.ofNanos(v)).length();
+                long human = Durations.formatHuman(Duration.ofNanos(v)).length();
+                durationCompact |= mixed == compact && compact != human;
+                durationHuman |= mixed == human && compact != human;
+            }
+        }
+        assertTrue(sizeDecimal, "Sizes.format");
+        assertTrue(sizeBinary, "Sizes.formatBinary");
+        assertTrue(durationCompact, "Durations.format");
+        assertTrue(durationHuman, "Durations.formatHuman");
+    }
+
+    @Test
+    void everyVirtualWorkerRunsWhenThreadsExceedCarriers() throws InterruptedException {
+        LoadHarness.ThreadFactory factory;
+        try {
+            factory = LoadHarness.ThreadFactory.virtual();
+        } catch (IllegalArgumentException e) {
+            assumeTrue(false, "virtual threads need Java 21");
+            return;
+        }
+        int threads = 8 * Runtime.getRuntime().availableProcessors();
+        LoadHarness.Result r = LoadHarness.run(Workload.SIZE_PARSE, new Corpus(1024, 0, 1), threads, 200_000_000L, factory);
+        assertEquals(0, r.idleWorkers);
+    }
+}
@@ -0,0 +1,31 @@
+package io.parsetra.processor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code long} (nanoseconds) or {@link java.time.Duration} field whose value is a duration literal,
+ * parsed at compile time exactly like {@code Durations.parse} (or {@code Durations.parseStrict} with
+ * {@code strict = true}). The processor generates {@code <Type>Literals} in the same package:
+ * <pre>
+ * &#64;DurationLiteral("2h 30m")
+ * static final Duration SESSION = TimeoutsLiterals.SESSION;
+ * &#64;DurationLiteral("250ms")
+ * static final long POLL_NANOS = TimeoutsLiterals.POLL_NANOS;   // 250000000L
+ * </pre>
+ * An invalid literal is a compilation error on the annotated field.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface DurationLiteral {
+
+    /** The duration, e.g. "2h 30m" or "1.5s". */
+    String value();
+
+    /** Parse with strict tokenization instead of the lenient default. */
+    boolean strict() default false;
+}
@@ -0,0 +1,192 @@
+package io.parsetra.processor;
+
+import io.parsetra.duration.Durations;
+import io.parsetra.size.Sizes;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parses {@link SizeLiteral} and {@link DurationLiteral} values with the runtime parsers and writes one
+ * {@code <Type>Literals} class per annotated type. Invalid literals and unsupported field types are reported
+ * as errors on the field, so no class is generated and the build fails.
+ */
+public final class LiteralProcessor extends AbstractProcessor {
+
+    private static final String SUFFIX = "Literals";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return new HashSet<>(Arrays.asList(SizeLiteral.class.getCanonicalName(), DurationLiteral.class.getCanonicalName()));
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        Set<TypeElement> owners = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element field : round.getElementsAnnotatedWith(annotation)) {
+                if (field.getKind() == ElementKind.FIELD) {
+                    owners.add((TypeElement) field.getEnclosingElement());
+                }
+            }
+        }
+        for (TypeElement owner : owners) {
+            // Constants follow the declaration order of the annotated fields.
+            List<String> constants = new ArrayList<>();
+            boolean failed = false;
+            for (Element field : owner.getEnclosedElements()) {
+                SizeLiteral size = field.getAnnotation(SizeLiteral.class);
+                DurationLiteral duration = field.getAnnotation(DurationLiteral.class);
+                if (size == null && duration == null) {
+                    continue;
+                }
+                String constant = size != null ? sizeConstant(field, size) : durationConstant(field, duration);
+                failed |= constant == null;
+                constants.add(constant);
+            }
+            if (!failed) {
+                write(owner, constants);
+            }
+        }
+        return true;
+    }
+
+    /** Returns the constant declaration, or null after reporting an error. */
+    private String sizeConstant(Element field, SizeLiteral literal) {
+        if (field.getAnnotation(DurationLiteral.class) != null) {
+            error(field, "A field cannot be both @SizeLiteral and @DurationLiteral");
+            return null;
+        }
+        if (!isLong(field.asType())) {
+            error(field, "@SizeLiteral field must be of type long");
+            return null;
+        }
+        long bytes;
+        try {
+            bytes = literal.strict() ? Sizes.parseStrict(literal.value()) : Sizes.parse(literal.value());
+        } catch (IllegalArgumentException e) {
+            error(field, "Invalid size literal " + quote(literal.value()) + ": " + e.getMessage());
+            return null;
+        }
+        return "    /** " + comment(literal.value()) + " */\n"
+            + "    public static final long " + field.getSimpleName() + " = " + bytes + "L;\n";
+    }
+
+    /** Returns the constant declaration, or null after reporting an error. */
+    private String durationConstant(Element field, DurationLiteral literal) {
+        TypeMirror type = field.asType();
+        boolean nanos = isLong(type);
+        if (!nanos && !type.toString().equals(Duration.class.getName())) {
+            error(field, "@DurationLiteral field must be of type long (nanoseconds) or java.time.Duration");
+            return null;
+        }
+        Duration duration;
+        long value = 0;
+        try {
+            duration = literal.strict() ? Durations.parseStrict(literal.value()) : Durations.parse(literal.value());
+            if (nanos) {
+                value = duration.toNanos();
+            }
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            error(field, "Invalid duration literal " + quote(literal.value()) + ": " + e.getMessage());
+            return null;
+        }
+        String declaration = nanos
+            ? "long " + field.getSimpleName() + " = " + value + "L;\n"
+            : "java.time.Duration " + field.getSimpleName() + " = java.time.Duration.ofSeconds("
+                + duration.getSeconds() + "L, " + duration.getNano() + ");\n";
+        return "    /** " + comment(literal.value()) + " */\n" + "    public static final " + declaration;
+    }
+
+    private void write(TypeElement owner, List<String> constants) {
+        String pkg = packageOf(owner);
+        String name = generatedName(owner);
+        String qualified = pkg.isEmpty() ? name : pkg + "." + name;
+        StringBuilder src = new StringBuilder();
+        if (!pkg.isEmpty()) {
+            src.append("package ").append(pkg).append(";\n\n");
+        }
+        src.append("/**\n * Compile-time literals of {@link ").append(owner.getQualifiedName())
+            .append("}. Generated by parsetra-processor; do not edit.\n */\n")
+            .append("public final class ").append(name).append(" {\n\n")
+            .append("    private ").append(name).append("() {}\n");
+        for (String constant : constants) {
+            src.append('\n').append(constant);
+        }
+        src.append("}\n");
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualified, owner);
+            try (Writer w = file.openWriter()) {
+                w.write(src.toString());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Cannot write " + qualified + ": " + e.getMessage(), owner);
+        }
+    }
+
+    /** Outer_InnerLiterals for nested types, so each annotated type gets its own top-level class. */
+    static String generatedName(TypeElement owner) {
+        StringBuilder name = new StringBuilder(owner.getSimpleName());
+        for (Element e = owner.getEnclosingElement(); e instanceof TypeElement; e = e.getEnclosingElement()) {
+            name.insert(0, e.getSimpleName() + "_");
+        }
+        return name.append(SUFFIX).toString();
+    }
+
+    private static String packageOf(Element e) {
+        while (!(e instanceof PackageElement)) {
+            e = e.getEnclosingElement();
+        }
+        return ((PackageElement) e).getQualifiedName().toString();
+    }
+
+    private static boolean isLong(TypeMirror type) {
+        return type.getKind() == TypeKind.LONG;
+    }
+
+    private void error(Element field, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, field);
+    }
+
+    private static String quote(String s) {
+        return "'" + s + "'";
+    }
+
+    /** The literal as shown in the generated javadoc, with anything that could end the comment escaped. */
+    private static String comment(String literal) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < literal.length(); i++) {
+            char c = literal.charAt(i);
+            if (c == '*' || c == '/' || c == '\\' || c == '@' || c == '&' || c == '<' || c < ' ' || c > '~') {
+                sb.append("&#").append((int) c).append(';');
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,29 @@
+package io.parsetra.processor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code long} field whose value is the byte count of a size literal, parsed at compile time
+ * exactly like {@code Sizes.parse} (or {@code Sizes.parseStrict} with {@code strict = true}).
+ * The processor generates {@code <Type>Literals} in the same package with one constant per annotated field:
+ * <pre>
+ * &#64;SizeLiteral("64MiB")
+ * static final long BUFFER = ConfigLiterals.BUFFER;   // 67108864L, a compile-time constant
+ * </pre>
+ * An invalid literal is a compilation error on the annotated field.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface SizeLiteral {
+
+    /** The size, e.g. "64MiB" or "1.5GB". */
+    String value();
+
+    /** Parse with strict tokenization instead of the lenient default. */
+    boolean strict() default false;
+}
@@ -0,0 +1,5 @@
+/**
+ * Compile-time size and duration literals: {@link io.parsetra.processor.SizeLiteral},
+ * {@link io.parsetra.processor.DurationLiteral} and the processor that validates them and generates constants.
+ */
+package io.parsetra.processor;
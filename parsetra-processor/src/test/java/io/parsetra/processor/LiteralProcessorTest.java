@@ -0,0 +1,98 @@
+package io.parsetra.processor;
+
+import io.parsetra.duration.Durations;
+import io.parsetra.size.Sizes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiteralProcessorTest {
+
+    @TempDir
+    Path out;
+
+    private final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+    private boolean compile(String className, String source) {
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        JavaFileObject file = new SimpleJavaFileObject(
+                URI.create("string:///" + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        List<String> options = Arrays.asList("-d", out.toString(), "-s", out.toString(),
+            "-classpath", System.getProperty("java.class.path"));
+        JavaCompiler.CompilationTask task = javac.getTask(null, null, diagnostics, options, null,
+            Collections.singletonList(file));
+        task.setProcessors(Collections.singletonList(new LiteralProcessor()));
+        return task.call();
+    }
+
+    private Class<?> load(String className) throws Exception {
+        URLClassLoader loader = new URLClassLoader(new URL[] {out.toUri().toURL()}, getClass().getClassLoader());
+        return Class.forName(className, true, loader);
+    }
+
+    @Test
+    void generatesConstantsMatchingRuntimeParsing() throws Exception {
+        assertTrue(compile("demo.Config",
+            "package demo;\n"
+            + "import io.parsetra.processor.*;\n"
+            + "import java.time.Duration;\n"
+            + "public class Config {\n"
+            + "    @SizeLiteral(\"64MiB\") public static final long BUFFER = ConfigLiterals.BUFFER;\n"
+            + "    @SizeLiteral(value = \"1.5GB\", strict = true) public static final long LIMIT = ConfigLiterals.LIMIT;\n"
+            + "    @DurationLiteral(\"2h 30m\") public static final Duration SESSION = ConfigLiterals.SESSION;\n"
+            + "    @DurationLiteral(\"1.5µs\") public static final long TICK = ConfigLiterals.TICK;\n"
+            + "    static final class Inner {\n"
+            + "        @DurationLiteral(\"250ms\") static final long POLL = Config_InnerLiterals.POLL;\n"
+            + "    }\n"
+            + "    public static long poll() { return Inner.POLL; }\n"
+            + "    public static long sum() {\n"
+            + "        switch (0) { case (int) (ConfigLiterals.BUFFER >>> 20): return 1; default: return 0; }\n"
+            + "    }\n"
+            + "}\n"), diagnostics.getDiagnostics().toString());
+        Class<?> config = load("demo.Config");
+        assertEquals(Sizes.parse("64MiB"), config.getField("BUFFER").getLong(null));
+        assertEquals(Sizes.parseStrict("1.5GB"), config.getField("LIMIT").getLong(null));
+        assertEquals(Durations.parse("2h 30m"), config.getField("SESSION").get(null));
+        assertEquals(Durations.parse("1.5µs").toNanos(), config.getField("TICK").getLong(null));
+        assertEquals(Duration.ofMillis(250).toNanos(), config.getMethod("poll").invoke(null));
+    }
+
+    @Test
+    void invalidLiteralIsCompileError() {
+        assertFalse(compile("demo.Bad",
+            "package demo;\n"
+            + "import io.parsetra.processor.*;\n"
+            + "public class Bad {\n"
+            + "    @SizeLiteral(\"64MiBB\") static final long BUFFER = 0;\n"
+            + "    @DurationLiteral(\"2h 30\") static final long SESSION = 0;\n"
+            + "    @DurationLiteral(\"1s\") static final int WRONG_TYPE = 0;\n"
+            + "}\n"));
+        long errors = diagnostics.getDiagnostics().stream().filter(d -> d.getKind() == Diagnostic.Kind.ERROR).count();
+        assertEquals(3, errors, diagnostics.getDiagnostics().toString());
+        String messages = diagnostics.getDiagnostics().toString();
+        assertTrue(messages.contains("Invalid size literal '64MiBB'"), messages);
+        assertTrue(messages.contains("Invalid duration literal '2h 30'"), messages);
+        assertTrue(messages.contains("must be of type long (nanoseconds) or java.time.Duration"), messages);
+    }
+}
@@ -0,0 +1,84 @@
+package io.parsetra.duration;
+
+import java.time.Duration;
+
+/**
+ * Shared {@link Duration} instances for whole seconds and whole minutes, so values parsed again and again
+ * ("30s", "5m") resolve to one object instead of one per parse.
+ * <p>
+ * Two lazily filled arrays indexed by the value: seconds {@code 0..parsetra.duration.cache.seconds}
+ * (default 3600) and minutes {@code 0..parsetra.duration.cache.minutes} (default 1440). Reads take no lock;
+ * a slot filled concurrently by two threads may briefly hold either of two equal instances, which is
+ * harmless because {@code Duration} is immutable and safely published through its final fields.
+ * Limits are read once, on first use; 0 disables a table. Thread-safe.
+ */
+final class DurationCache {
+
+    /** Largest accepted limit, to keep a mistyped property from allocating a huge table. */
+    private static final int MAX_LIMIT = 1 << 20;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private static final Duration[] SECONDS = new Duration[limit("parsetra.duration.cache.seconds", 3_600) + 1];
+    private static final Duration[] MINUTES = new Duration[limit("parsetra.duration.cache.minutes", 1_440) + 1];
+
+    private DurationCache() {}
+
+    /**
+     * Returns a shared instance equal to {@code Duration.ofNanos(nanos)} if the value is cacheable,
+     * otherwise a new one.
+     */
+    static Duration ofNanos(long nanos) {
+        if (nanos >= 0 && nanos % NANOS_PER_SECOND == 0) {
+            Duration shared = shared(nanos / NANOS_PER_SECOND);
+            if (shared != null) {
+                return shared;
+            }
+        }
+        return Duration.ofNanos(nanos);
+    }
+
+    /**
+     * Returns the shared instance equal to the duration if there is one, otherwise the duration itself.
+     */
+    static Duration canonical(Duration duration) {
+        if (duration.getNano() != 0 || duration.isNegative()) {
+            return duration;
+        }
+        Duration shared = shared(duration.getSeconds());
+        return shared != null ? shared : duration;
+    }
+
+    /** The shared instance for a non-negative whole number of seconds, or null if it is outside both tables. */
+    private static Duration shared(long seconds) {
+        if (seconds == 0) {
+            return Duration.ZERO;
+        }
+        if (seconds < SECONDS.length) {
+            Duration d = SECONDS[(int) seconds];
+            if (d == null) {
+                d = Duration.ofSeconds(seconds);
+                SECONDS[(int) seconds] = d;
+            }
+            return d;
+        }
+        long minutes = seconds / 60;
+        if (seconds % 60 == 0 && minutes < MINUTES.length) {
+            Duration d = MINUTES[(int) minutes];
+            if (d == null) {
+                d = Duration.ofMinutes(minutes);
+                MINUTES[(int) minutes] = d;
+            }
+            return d;
+        }
+        return null;
+    }
+
+    private static int limit(String property, int defaultValue) {
+        Integer value = Integer.getInteger(property);
+        if (value == null) {
+            return defaultValue;
+        }
+        return Math.max(0, Math.min(value, MAX_LIMIT));
+    }
+}
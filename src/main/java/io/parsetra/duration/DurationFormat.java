@@ -0,0 +1,199 @@
+package io.parsetra.duration;
+
+import io.parsetra.util.FixedPoint;
+import io.parsetra.util.FormatPattern;
+import io.parsetra.util.FormattedColumn;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A duration layout compiled once from a template such as {@code "{d}d {hh}:{mm}:{ss}.{SSS}"}.
+ * <p>
+ * Fields are runs of one letter: {@code d} days, {@code h} hours, {@code m} minutes, {@code s} seconds;
+ * the run length is the minimum width, padded with zeros ({@code {hh}} gives "07"). The largest unit in
+ * the template is not wrapped, so {@code "{hh}:{mm}"} formats 26 hours as "26:00"; smaller units count up
+ * to the next larger unit present. {@code S} is the fraction of a second with one digit per letter,
+ * truncated ({@code {SSS}} is milliseconds). {@code {{} and {@code }}} are literal braces. A negative
+ * value gets a '-' before its first field.
+ * <p>
+ * Compiling precomputes each field's divisor, modulus and width and the literal text between fields, so
+ * formatting is a loop over the plan with no template parsing and no {@code String.format}.
+ * Immutable. Thread-safe.
+ */
+public final class DurationFormat {
+
+    private static final long NANOS_PER_S = 1_000_000_000L;
+    private static final long NANOS_PER_M = 60 * NANOS_PER_S;
+    private static final long NANOS_PER_H = 60 * NANOS_PER_M;
+    private static final long NANOS_PER_D = 24 * NANOS_PER_H;
+
+    private final String pattern;
+    /** Literal text before each field, plus the trailing literal. */
+    private final String[] literals;
+    private final long[] divisors;
+    /** Wrap-around for the field's value, or 0 for the largest unit (and for fraction fields). */
+    private final long[] moduli;
+    private final int[] widths;
+    private final boolean[] fraction;
+
+    private DurationFormat(String pattern, String[] literals, long[] divisors, long[] moduli, int[] widths,
+                           boolean[] fraction) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.divisors = divisors;
+        this.moduli = moduli;
+        this.widths = widths;
+        this.fraction = fraction;
+    }
+
+    /**
+     * Compiles a template; throws IllegalArgumentException for unknown fields or unbalanced braces.
+     */
+    public static DurationFormat compile(String pattern) {
+        List<String> parts = FormatPattern.split(pattern);
+        int fields = parts.size() / 2;
+        String[] literals = new String[fields + 1];
+        long[] divisors = new long[fields];
+        long[] moduli = new long[fields];
+        int[] widths = new int[fields];
+        boolean[] fraction = new boolean[fields];
+        for (int i = 0; i < fields; i++) {
+            literals[i] = parts.get(2 * i);
+            String field = parts.get(2 * i + 1);
+            char letter = field.charAt(0);
+            for (int k = 1; k < field.length(); k++) {
+                if (field.charAt(k) != letter) {
+                    throw unknownField(field, pattern);
+                }
+            }
+            int width = field.length();
+            switch (letter) {
+                case 'd':
+                    divisors[i] = NANOS_PER_D;
+                    break;
+                case 'h':
+                    divisors[i] = NANOS_PER_H;
+                    break;
+                case 'm':
+                    divisors[i] = NANOS_PER_M;
+                    break;
+                case 's':
+                    divisors[i] = NANOS_PER_S;
+                    break;
+                case 'S':
+                    if (width > 9) {
+                        throw new IllegalArgumentException("At most 9 fraction digits: '{" + field + "}' in pattern: '"
+                            + pattern + "'");
+                    }
+                    long divisor = 1;
+                    for (int k = width; k < 9; k++) {
+                        divisor *= 10;
+                    }
+                    divisors[i] = divisor;
+                    fraction[i] = true;
+                    break;
+                default:
+                    throw unknownField(field, pattern);
+            }
+            if (width > 19) {
+                throw new IllegalArgumentException("Field too wide: '{" + field + "}' in pattern: '" + pattern + "'");
+            }
+            widths[i] = width;
+        }
+        literals[fields] = parts.get(parts.size() - 1);
+        // Each whole-unit field wraps at the next larger unit that the template shows.
+        for (int i = 0; i < fields; i++) {
+            if (fraction[i]) {
+                continue;
+            }
+            long parent = 0;
+            for (int j = 0; j < fields; j++) {
+                if (!fraction[j] && divisors[j] > divisors[i] && (parent == 0 || divisors[j] < parent)) {
+                    parent = divisors[j];
+                }
+            }
+            moduli[i] = parent == 0 ? 0 : parent / divisors[i];
+        }
+        return new DurationFormat(pattern, literals, divisors, moduli, widths, fraction);
+    }
+
+    private static IllegalArgumentException unknownField(String field, String pattern) {
+        return new IllegalArgumentException("Unknown field '{" + field + "}' in pattern: '" + pattern
+            + "' (expected runs of d, h, m, s or S)");
+    }
+
+    /**
+     * The template this format was compiled from.
+     */
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Formats a duration. Throws ArithmeticException if it does not fit in a long of nanoseconds.
+     */
+    public String format(Duration duration) {
+        if (duration == null) {
+            throw new IllegalArgumentException("duration must not be null");
+        }
+        return formatNanos(duration.toNanos());
+    }
+
+    /**
+     * Formats a nanosecond value.
+     */
+    public String formatNanos(long nanos) {
+        StringBuilder sb = new StringBuilder(pattern.length() + 16);
+        appendNanos(sb, nanos);
+        return sb.toString();
+    }
+
+    /**
+     * Appends a formatted nanosecond value to the builder.
+     */
+    public void appendNanos(StringBuilder sb, long nanos) {
+        // Work on non-negative parts without negating nanos itself, which may be Long.MIN_VALUE.
+        long subSecond = Math.abs(nanos % NANOS_PER_S);
+        int fields = divisors.length;
+        for (int i = 0; i < fields; i++) {
+            sb.append(literals[i]);
+            if (i == 0 && nanos < 0) {
+                sb.append('-');
+            }
+            long value;
+            if (fraction[i]) {
+                value = subSecond / divisors[i];
+            } else {
+                value = Math.abs(nanos / divisors[i]);
+                if (moduli[i] != 0) {
+                    value %= moduli[i];
+                }
+            }
+            FixedPoint.appendPadded(sb, value, widths[i]);
+        }
+        sb.append(literals[fields]);
+    }
+
+    /**
+     * Formats every nanosecond value into one packed {@link FormattedColumn}.
+     */
+    public FormattedColumn formatBatch(long[] nanos) {
+        if (nanos == null) {
+            throw new IllegalArgumentException("nanos must not be null");
+        }
+        FormattedColumn.Builder column = new FormattedColumn.Builder(nanos.length, nanos.length * (pattern.length() + 4));
+        StringBuilder sb = new StringBuilder(pattern.length() + 16);
+        for (long n : nanos) {
+            sb.setLength(0);
+            appendNanos(sb, n);
+            column.append(sb).endEntry();
+        }
+        return column.build();
+    }
+
+    @Override
+    public String toString() {
+        return "DurationFormat[" + pattern + "]";
+    }
+}
@@ -1,5 +1,8 @@
 package io.parsetra.duration;
 
+import io.parsetra.util.FixedPoint;
+import io.parsetra.util.FormattedColumn;
+
 import java.time.Duration;
 
 /**
@@ -14,6 +17,9 @@ public final class DurationFormatter {
     private static final long NANOS_PER_H = 60 * NANOS_PER_M;
     private static final long NANOS_PER_D = 24 * NANOS_PER_H;
 
+    private static final long[] COLUMN_UNITS = { 1, NANOS_PER_MS, NANOS_PER_S, NANOS_PER_M, NANOS_PER_H, NANOS_PER_D };
+    private static final String[] COLUMN_SUFFIX = { "ns", "ms", "s", "m", "h", "d" };
+
     private DurationFormatter() {}
 
     /**
@@ -23,13 +29,19 @@ public final class DurationFormatter {
         if (duration == null) {
             throw new IllegalArgumentException("duration must not be null");
         }
-        long totalNanos = duration.toNanos();
+        StringBuilder sb = new StringBuilder();
+        appendFormat(sb, duration.toNanos());
+        return sb.toString();
+    }
+
+    private static void appendFormat(StringBuilder sb, long totalNanos) {
         if (totalNanos == 0) {
-            return "0s";
+            sb.append("0s");
+            return;
         }
         boolean neg = totalNanos < 0;
         if (neg) totalNanos = -totalNanos;
-        StringBuilder sb = new StringBuilder();
+        int start = sb.length();
         if (neg) sb.append('-');
         long d = totalNanos / NANOS_PER_D;
         if (d > 0) {
@@ -57,10 +69,9 @@ public final class DurationFormatter {
         } else if (totalNanos > 0) {
             sb.append(totalNanos).append("ns");
         }
-        if (sb.length() == (neg ? 1 : 0)) {
+        if (sb.length() - start == (neg ? 1 : 0)) {
             sb.append("0s");
         }
-        return sb.toString();
     }
 
     /**
@@ -101,13 +112,19 @@ public final class DurationFormatter {
         if (duration == null) {
             throw new IllegalArgumentException("duration must not be null");
         }
-        long totalNanos = duration.toNanos();
+        StringBuilder sb = new StringBuilder();
+        appendHuman(sb, duration.toNanos());
+        return sb.toString();
+    }
+
+    private static void appendHuman(StringBuilder sb, long totalNanos) {
         if (totalNanos == 0) {
-            return "0s";
+            sb.append("0s");
+            return;
         }
         boolean neg = totalNanos < 0;
         if (neg) totalNanos = -totalNanos;
-        StringBuilder sb = new StringBuilder();
+        int start = sb.length();
         if (neg) sb.append("- ");
         boolean first = true;
         long d = totalNanos / NANOS_PER_D;
@@ -146,9 +163,84 @@ public final class DurationFormatter {
             if (!first) sb.append(' ');
             sb.append(totalNanos).append("ns");
         }
-        if (sb.length() == (neg ? 2 : 0)) {
+        if (sb.length() - start == (neg ? 2 : 0)) {
             sb.append("0s");
         }
+    }
+
+    /**
+     * Batch {@link #format(Duration)} over nanosecond values into one packed {@link FormattedColumn}
+     * instead of one String per value.
+     */
+    public static FormattedColumn formatBatch(long[] nanos) {
+        return formatBatch(nanos, false);
+    }
+
+    /**
+     * Batch {@link #formatHuman(Duration)} over nanosecond values into one packed {@link FormattedColumn}.
+     */
+    public static FormattedColumn formatHumanBatch(long[] nanos) {
+        return formatBatch(nanos, true);
+    }
+
+    private static FormattedColumn formatBatch(long[] nanos, boolean human) {
+        if (nanos == null) {
+            throw new IllegalArgumentException("nanos must not be null");
+        }
+        FormattedColumn.Builder column = new FormattedColumn.Builder(nanos.length, nanos.length * 8);
+        StringBuilder sb = new StringBuilder(48);
+        for (long n : nanos) {
+            sb.setLength(0);
+            if (human) {
+                appendHuman(sb, n);
+            } else {
+                appendFormat(sb, n);
+            }
+            column.append(sb).endEntry();
+        }
+        return column.build();
+    }
+
+    /**
+     * Format a column of nanosecond values with one shared unit and fixed precision, right-aligned,
+     * one value per line (each line ends with '\n'). The unit is the largest one not exceeding the largest magnitude.
+     */
+    public static String formatColumn(long[] nanos, int precision) {
+        StringBuilder sb = new StringBuilder(nanos.length * 10);
+        formatColumn(nanos, precision, sb);
         return sb.toString();
     }
+
+    /**
+     * Same as {@link #formatColumn(long[], int)}, appending to the given buffer.
+     */
+    public static void formatColumn(long[] nanos, int precision, StringBuilder out) {
+        if (nanos == null) {
+            throw new IllegalArgumentException("nanos must not be null");
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("out must not be null");
+        }
+        FixedPoint.requirePrecision(precision);
+        long max = 0;
+        long min = 0;
+        for (long n : nanos) {
+            if (n > max) max = n;
+            if (n < min) min = n;
+        }
+        // Compare magnitudes without negating Long.MIN_VALUE.
+        long largest = min == Long.MIN_VALUE ? Long.MAX_VALUE : Math.max(max, -min);
+        int i = COLUMN_UNITS.length - 1;
+        while (i > 0 && largest < COLUMN_UNITS[i]) {
+            i--;
+        }
+        long unit = COLUMN_UNITS[i];
+        String suffix = COLUMN_SUFFIX[i];
+        // The widest number is either the maximum or the minimum; each row is written once, padding first.
+        int width = Math.max(FixedPoint.length(max, unit, precision), FixedPoint.length(min, unit, precision));
+        for (long n : nanos) {
+            FixedPoint.append(out, n, unit, precision, width);
+            out.append(suffix).append('\n');
+        }
+    }
 }
@@ -1,51 +1,66 @@
 package io.parsetra.duration;
 
+import io.parsetra.parser.IncrementalParser;
+import io.parsetra.parser.ListParser;
 import io.parsetra.parser.NumericParser;
 import io.parsetra.parser.Token;
 import io.parsetra.parser.Tokenizer;
 import io.parsetra.parser.UnitMatcher;
+import io.parsetra.parser.UnitRegistry;
+import io.parsetra.parser.UnitTable;
 import io.parsetra.util.MathUtils;
+import io.parsetra.util.Validation;
 
 import java.time.Duration;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Parses human-readable duration strings into {@link java.time.Duration}.
- * Units: ms, s, m, h, d. Thread-safe.
+ * Units: ns, us (µs), ms, s, m, h, d. Thread-safe.
  */
 public final class DurationParser {
 
+    private static final long NANOS_PER_US = 1_000L;
     private static final long NANOS_PER_MS = 1_000_000L;
     private static final long NANOS_PER_S = 1_000_000_000L;
     private static final long NANOS_PER_M = 60 * NANOS_PER_S;
     private static final long NANOS_PER_H = 60 * NANOS_PER_M;
     private static final long NANOS_PER_D = 24 * NANOS_PER_H;
 
-    private static final Map<String, Long> UNIT_TO_NANOS = new HashMap<>();
-    static {
-        UNIT_TO_NANOS.put("ms", NANOS_PER_MS);
-        UNIT_TO_NANOS.put("s", NANOS_PER_S);
-        UNIT_TO_NANOS.put("m", NANOS_PER_M);
-        UNIT_TO_NANOS.put("min", NANOS_PER_M);
-        UNIT_TO_NANOS.put("mins", NANOS_PER_M);
-        UNIT_TO_NANOS.put("minute", NANOS_PER_M);
-        UNIT_TO_NANOS.put("minutes", NANOS_PER_M);
-        UNIT_TO_NANOS.put("h", NANOS_PER_H);
-        UNIT_TO_NANOS.put("hr", NANOS_PER_H);
-        UNIT_TO_NANOS.put("hrs", NANOS_PER_H);
-        UNIT_TO_NANOS.put("hour", NANOS_PER_H);
-        UNIT_TO_NANOS.put("hours", NANOS_PER_H);
-        UNIT_TO_NANOS.put("d", NANOS_PER_D);
-        UNIT_TO_NANOS.put("day", NANOS_PER_D);
-        UNIT_TO_NANOS.put("days", NANOS_PER_D);
-    }
-
     private static final String CONTEXT = "duration";
 
+    private static final UnitRegistry UNITS = new UnitRegistry(new UnitTable(
+        new String[] {
+            "ns", "us", "\u00b5s", "\u03bcs", "ms", "s",
+            "m", "min", "mins", "minute", "minutes",
+            "h", "hr", "hrs", "hour", "hours",
+            "d", "day", "days" },
+        new long[] {
+            1L, NANOS_PER_US, NANOS_PER_US, NANOS_PER_US, NANOS_PER_MS, NANOS_PER_S,
+            NANOS_PER_M, NANOS_PER_M, NANOS_PER_M, NANOS_PER_M, NANOS_PER_M,
+            NANOS_PER_H, NANOS_PER_H, NANOS_PER_H, NANOS_PER_H, NANOS_PER_H,
+            NANOS_PER_D, NANOS_PER_D, NANOS_PER_D }), CONTEXT);
+
+    /** Seconds per ISO-8601 designator, indexed by {@link #isoDesignator}. */
+    private static final long[] ISO_SECONDS = { 0, 86_400L, 3_600L, 60L, 1L };
+
     private DurationParser() {}
 
+    /**
+     * The current unit names and their factors in nanoseconds. The table is immutable; units registered later
+     * appear in a new table.
+     */
+    public static UnitTable units() {
+        return UNITS.table();
+    }
+
+    /**
+     * The registry behind {@link #units()}, for adding custom units and aliases at runtime.
+     */
+    public static UnitRegistry registry() {
+        return UNITS;
+    }
+
     /**
      * Parse with strict tokenization (no leading/trailing whitespace, single space between segments).
      */
@@ -69,20 +84,217 @@ public final class DurationParser {
         return parseLenient(input);
     }
 
+    /**
+     * Lenient parse returning a shared instance for whole seconds and minutes (see {@link DurationCache}),
+     * so repeated values do not each retain their own {@link Duration}.
+     */
+    public static Duration parseCanonical(String input) {
+        List<Token> tokens = Tokenizer.tokenizeLenient(input, CONTEXT);
+        return DurationCache.ofNanos(sumNanos(tokens, false));
+    }
+
+    /**
+     * Lenient parse returning total nanoseconds, without allocating a {@link Duration}.
+     */
+    public static long parseNanos(String input) {
+        List<Token> tokens = Tokenizer.tokenizeLenient(input, CONTEXT);
+        return sumNanos(tokens, false);
+    }
+
+    /**
+     * Parses a delimited list, each element possibly multi-segment ("1h 30m") into nanoseconds in a single pass (lenient rules per element).
+     */
+    public static long[] parseNanosList(CharSequence text, char delimiter) {
+        return ListParser.parse(text, delimiter, UNITS.table(), true, CONTEXT);
+    }
+
+    /**
+     * New resumable parser that accepts input in pieces and reports the nanoseconds of what it has seen (lenient rules).
+     */
+    public static IncrementalParser incrementalParser() {
+        return new IncrementalParser(UNITS.table(), true, CONTEXT);
+    }
+
+    /**
+     * Parses ISO-8601 ("PT2H30M", "-P1DT0.5S"), Go ("1h2m3.5s", "1.5\u00b5s", "-300ms") or parsetra ("2h 30m")
+     * syntax in one pass, choosing the grammar from the first characters instead of trying parsers in turn.
+     * Input is trimmed. A leading '-' negates the whole duration, as in Go. Go and parsetra results must fit
+     * in a long of nanoseconds (about 292 years). Throws IllegalArgumentException if the input matches no syntax.
+     */
+    public static Duration parseAny(String input) {
+        String s = Validation.requireNonBlank(input, "input");
+        int p = s.charAt(0) == '-' || s.charAt(0) == '+' ? 1 : 0;
+        boolean negative = p == 1 && s.charAt(0) == '-';
+        if (p < s.length() && (s.charAt(p) == 'P' || s.charAt(p) == 'p')) {
+            Duration iso = parseIso(s, p + 1);
+            try {
+                return negative ? iso.negated() : iso;
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Overflow in " + CONTEXT, e);
+            }
+        }
+        long nanos = parseSegments(s, p);
+        return Duration.ofNanos(negative ? -nanos : nanos);
+    }
+
+    /** Go and parsetra syntax: number+unit segments, optionally separated by whitespace. */
+    private static long parseSegments(String s, int from) {
+        int len = s.length();
+        int i = from;
+        if (from == len) {
+            // A sign with nothing after it.
+            throw new IllegalArgumentException("Invalid number in " + CONTEXT + ": '" + s + "'");
+        }
+        long totalNanos = 0;
+        UnitTable units = UNITS.table();
+        while (i < len) {
+            int numStart = i;
+            int numEnd = Tokenizer.scanNumber(s, i, len);
+            if (numEnd < 0) {
+                throw new IllegalArgumentException("Invalid number in " + CONTEXT + ": '" + s + "'");
+            }
+            i = numEnd;
+            while (i < len && Character.isWhitespace(s.charAt(i))) i++;
+            int unitEnd = Tokenizer.scanUnit(s, i, len);
+            if (unitEnd == i) {
+                // Go accepts a bare "0".
+                if (numStart == from && numEnd == len && isZero(s, numStart, numEnd)) {
+                    return 0;
+                }
+                throw new IllegalArgumentException("Missing unit after number in " + CONTEXT + ": '" + s.substring(numStart, numEnd) + "'");
+            }
+            int unit = units.indexOf(s, i, unitEnd);
+            if (unit < 0) {
+                throw new IllegalArgumentException("Unknown unit in " + CONTEXT + ": '" + s.substring(i, unitEnd) + "'");
+            }
+            if (s.charAt(numStart) == '-' && !isZero(s, numStart, numEnd)) {
+                throw new IllegalArgumentException("Negative duration value not allowed: " + s.substring(numStart, numEnd));
+            }
+            long add = NumericParser.multiplyRounded(s, numStart, numEnd, units.factor(unit), CONTEXT);
+            totalNanos = MathUtils.addExactOrThrow(totalNanos, add, CONTEXT);
+            i = unitEnd;
+            while (i < len && Character.isWhitespace(s.charAt(i))) i++;
+        }
+        return totalNanos;
+    }
+
+    /**
+     * ISO-8601 as accepted by {@link Duration#parse}: {@code PnDTnHnMn.nS}, signed components, fraction
+     * (up to 9 digits, '.' or ',') on seconds only, designators in order, case-insensitive. Accumulates
+     * seconds like {@code Duration.parse}, so the ISO range is not limited to a long of nanoseconds.
+     */
+    private static Duration parseIso(String s, int from) {
+        int len = s.length();
+        int i = from;
+        long seconds = 0;
+        long fractionNanos = 0;
+        boolean any = false;
+        boolean time = false;
+        int order = 0;
+        try {
+            while (i < len) {
+                char c = s.charAt(i);
+                if (!time && (c == 'T' || c == 't')) {
+                    time = true;
+                    i++;
+                    if (i >= len) {
+                        throw invalidIso(s);
+                    }
+                    continue;
+                }
+                boolean minus = c == '-';
+                if (c == '-' || c == '+') i++;
+                long value = 0;
+                int digitsStart = i;
+                while (i < len && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+                    value = Math.addExact(Math.multiplyExact(value, 10), s.charAt(i) - '0');
+                    i++;
+                }
+                if (i == digitsStart) {
+                    throw invalidIso(s);
+                }
+                long fraction = -1;
+                if (i < len && (s.charAt(i) == '.' || s.charAt(i) == ',')) {
+                    int fracStart = ++i;
+                    fraction = 0;
+                    while (i < len && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+                        fraction = fraction * 10 + (s.charAt(i) - '0');
+                        i++;
+                    }
+                    if (i - fracStart > 9) {
+                        throw invalidIso(s);
+                    }
+                    for (int k = i - fracStart; k < 9; k++) {
+                        fraction *= 10;
+                    }
+                }
+                if (i >= len) {
+                    throw invalidIso(s);
+                }
+                int designator = isoDesignator(s.charAt(i), time);
+                if (designator <= order || (fraction >= 0 && designator != 4)) {
+                    throw invalidIso(s);
+                }
+                order = designator;
+                seconds = Math.addExact(seconds, Math.multiplyExact(minus ? -value : value, ISO_SECONDS[designator]));
+                if (fraction > 0) {
+                    fractionNanos = minus ? -fraction : fraction;
+                }
+                any = true;
+                i++;
+            }
+            if (!any) {
+                throw invalidIso(s);
+            }
+            return Duration.ofSeconds(seconds, fractionNanos);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Overflow in " + CONTEXT + ": '" + s + "'", e);
+        }
+    }
+
+    /** 1=D (date part), 2=H, 3=M, 4=S (time part); 0 if not valid here. */
+    private static int isoDesignator(char c, boolean time) {
+        switch (c) {
+            case 'D': case 'd': return time ? 0 : 1;
+            case 'H': case 'h': return time ? 2 : 0;
+            case 'M': case 'm': return time ? 3 : 0;
+            case 'S': case 's': return time ? 4 : 0;
+            default: return 0;
+        }
+    }
+
+    private static IllegalArgumentException invalidIso(String s) {
+        return new IllegalArgumentException("Invalid ISO-8601 " + CONTEXT + ": '" + s + "'");
+    }
+
+    private static boolean isZero(String s, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c >= '1' && c <= '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static Duration parseTokens(List<Token> tokens, boolean strictNumber) {
+        return Duration.ofNanos(sumNanos(tokens, strictNumber));
+    }
+
+    private static long sumNanos(List<Token> tokens, boolean strictNumber) {
         long totalNanos = 0;
+        UnitTable units = UNITS.table();
         for (Token t : tokens) {
             double value = strictNumber
                 ? NumericParser.parseDoubleStrict(t.getNumberPart(), CONTEXT)
                 : NumericParser.parseDoubleLenient(t.getNumberPart(), CONTEXT);
-            long nanosPerUnit = UnitMatcher.match(t.getUnitPart(), UNIT_TO_NANOS, CONTEXT);
+            long nanosPerUnit = UnitMatcher.match(t.getUnitPart(), units, CONTEXT);
             if (value < 0) {
                 throw new IllegalArgumentException("Negative duration value not allowed: " + value);
             }
-            double nanos = (double) nanosPerUnit * value;
-            long add = MathUtils.roundToLong(nanos, CONTEXT);
+            long add = NumericParser.multiplyRounded(t.getNumberPart(), nanosPerUnit, CONTEXT);
             totalNanos = MathUtils.addExactOrThrow(totalNanos, add, CONTEXT);
         }
-        return Duration.ofNanos(totalNanos);
+        return totalNanos;
     }
 }
@@ -1,6 +1,22 @@
 package io.parsetra.duration;
 
+import io.parsetra.parser.BatchParser;
+import io.parsetra.parser.DelimitedSpliterator;
+import io.parsetra.parser.IncrementalParser;
+import io.parsetra.parser.TokenCursor;
+import io.parsetra.util.FormattedColumn;
+import io.parsetra.util.MathUtils;
+import io.parsetra.util.SortKeys;
+import io.parsetra.util.UnparseablePolicy;
+
+import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collector;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
 
 /**
  * Facade for parsing and formatting human-readable durations.
@@ -10,9 +26,13 @@ import java.time.Duration;
  * Duration d = Durations.parse("2h 30m");
  * Duration d = Durations.parse("1.5d");
  * Duration d = Durations.parseStrict("2h30m");
+ * Duration d = Durations.parseCanonical("30s");              // shared instance for repeated values
+ * Duration d = Durations.parseAny("PT2H30M");                // also "2h30m", "1.5µs"
  * String s = Durations.format(Duration.ofMinutes(150));  // "2h30m"
  * String s = Durations.formatCompact(d);                // "150m"
  * String s = Durations.formatHuman(d);                  // "2h 30m"
+ * long nanos = lines.parallelStream().collect(Durations.summingNanos());
+ * Durations.sort(latencies, UnparseablePolicy.LAST);    // "250ms", "1.5s", "2m", "n/a"
  * </pre>
  */
 public final class Durations {
@@ -41,6 +61,49 @@ public final class Durations {
         return DurationParser.parseLenient(input);
     }
 
+    /**
+     * Parse ISO-8601 ("PT2H30M"), Go ("1h2m3.5s", "1.5\u00b5s") or parsetra ("2h 30m") syntax, detected from
+     * the first characters in a single pass. Replaces try-{@code Duration.parse}-then-fall-back chains.
+     */
+    public static Duration parseAny(String input) {
+        return DurationParser.parseAny(input);
+    }
+
+    /**
+     * Parse (lenient) and return total nanoseconds without allocating a {@link Duration}.
+     */
+    public static long parseNanos(String input) {
+        return DurationParser.parseNanos(input);
+    }
+
+    /**
+     * Parse (lenient), returning a shared instance for whole seconds up to {@code parsetra.duration.cache.seconds}
+     * (default 3600) and whole minutes up to {@code parsetra.duration.cache.minutes} (default 1440).
+     * Use for values retained for a long time, such as per-request timeouts.
+     */
+    public static Duration parseCanonical(String input) {
+        return DurationParser.parseCanonical(input);
+    }
+
+    /**
+     * Returns the shared instance equal to the duration, if it is in the canonical cache, otherwise the duration itself.
+     */
+    public static Duration canonical(Duration duration) {
+        if (duration == null) {
+            throw new IllegalArgumentException("duration must not be null");
+        }
+        return DurationCache.canonical(duration);
+    }
+
+    /**
+     * Parse a delimited list (e.g. "5ms, 10ms, 1s" or "1h 30m; 2h") into nanoseconds in a single pass.
+     * Whitespace around elements is ignored; a trailing delimiter is allowed. Throws IllegalArgumentException
+     * naming the first invalid element.
+     */
+    public static long[] parseNanosList(CharSequence text, char delimiter) {
+        return DurationParser.parseNanosList(text, delimiter);
+    }
+
     /**
      * Format duration as compact string (e.g. "2h30m").
      */
@@ -61,4 +124,164 @@ public final class Durations {
     public static String formatHuman(Duration duration) {
         return DurationFormatter.formatHuman(duration);
     }
+
+    /**
+     * Batch {@link #format(Duration)} over nanosecond values into one packed column (shared char buffer).
+     */
+    public static FormattedColumn formatBatch(long[] nanos) {
+        return DurationFormatter.formatBatch(nanos);
+    }
+
+    /**
+     * Batch {@link #formatHuman(Duration)} over nanosecond values into one packed column.
+     */
+    public static FormattedColumn formatHumanBatch(long[] nanos) {
+        return DurationFormatter.formatHumanBatch(nanos);
+    }
+
+    /**
+     * Format a column of nanosecond values with one shared unit and fixed precision, right-aligned, one value per line.
+     */
+    public static String formatColumn(long[] nanos, int precision) {
+        return DurationFormatter.formatColumn(nanos, precision);
+    }
+
+    /**
+     * Format a column of nanosecond values with one shared unit, appending to a shared buffer.
+     */
+    public static void formatColumn(long[] nanos, int precision, StringBuilder out) {
+        DurationFormatter.formatColumn(nanos, precision, out);
+    }
+
+    /**
+     * Collector that parses each element (lenient) and sums the nanoseconds.
+     * Partial sums are kept in a primitive accumulator; throws IllegalArgumentException on overflow.
+     */
+    public static Collector<CharSequence, ?, Long> summingNanos() {
+        return Collector.of(
+            () -> new long[1],
+            (acc, s) -> acc[0] = MathUtils.addExactOrThrow(acc[0], DurationParser.parseNanos(s.toString()), "duration sum"),
+            (a, b) -> {
+                a[0] = MathUtils.addExactOrThrow(a[0], b[0], "duration sum");
+                return a;
+            },
+            acc -> acc[0],
+            Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Spliterator over the nanoseconds of a delimited text (e.g. "5ms,1s,2h 30m"). Each segment is parsed leniently.
+     */
+    public static Spliterator.OfLong nanosSpliterator(CharSequence text, char delimiter) {
+        return new DelimitedSpliterator(text, delimiter, DurationParser::parseNanos);
+    }
+
+    /**
+     * Sequential stream of the nanoseconds of a delimited text; call {@code parallel()} to split it.
+     */
+    public static LongStream streamNanos(CharSequence text, char delimiter) {
+        return StreamSupport.longStream(nanosSpliterator(text, delimiter), false);
+    }
+
+    /**
+     * Adds a custom duration unit for all later parses, e.g. {@code registerUnit("w", Duration.ofDays(7))}.
+     * Matched case-insensitively; the name must be letters only. Lookups stay lock-free: the unit table is
+     * rebuilt and published atomically. Cursors and incremental parsers created earlier keep the units they
+     * started with. Throws IllegalArgumentException if the name is already registered with a different length,
+     * or if the unit is not positive or does not fit in a long of nanoseconds.
+     */
+    public static void registerUnit(String name, Duration unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("unit must not be null");
+        }
+        long nanos;
+        try {
+            nanos = unit.toNanos();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Unit too large for nanoseconds: " + unit, e);
+        }
+        DurationParser.registry().register(name, nanos);
+    }
+
+    /**
+     * Adds {@code alias} for an existing unit, e.g. {@code registerAlias("sec", "s")}.
+     */
+    public static void registerAlias(String alias, String unit) {
+        DurationParser.registry().alias(alias, unit);
+    }
+
+    /**
+     * New resumable parser for a value that arrives in pieces ({@code feed(char)}, text or UTF-8 {@code ByteBuffer}
+     * chunks); reports EMPTY, INCOMPLETE, COMPLETE or INVALID after each piece and the nanoseconds once complete.
+     */
+    public static IncrementalParser incrementalNanosParser() {
+        return DurationParser.incrementalParser();
+    }
+
+    /**
+     * New reusable cursor over number+unit segments whose values are nanoseconds, for parsing in place
+     * inside larger expressions.
+     */
+    public static TokenCursor cursor() {
+        return new TokenCursor(DurationParser.units());
+    }
+
+    /**
+     * Backpressured processor from delimited text chunks to batches of nanoseconds (lenient), e.g. for a reactive
+     * pipeline reading newline-separated values. Unparseable elements are reported per batch.
+     */
+    public static BatchParser<CharSequence> nanosBatchParser(char delimiter, int batchSize) {
+        return BatchParser.ofText(DurationParser::parseNanos, delimiter, batchSize);
+    }
+
+    /**
+     * Like {@link #nanosBatchParser(char, int)} for UTF-8 byte chunks.
+     */
+    public static BatchParser<ByteBuffer> nanosByteBatchParser(char delimiter, int batchSize) {
+        return BatchParser.ofBytes(DurationParser::parseNanos, delimiter, batchSize);
+    }
+
+    /**
+     * Parses each element (lenient) once into its nanosecond values, for sorting or comparing by key.
+     * Throws IllegalArgumentException naming the first unparseable index.
+     */
+    public static long[] sortKeys(List<? extends CharSequence> values) {
+        return SortKeys.keys(values, DurationParser::parseNanos);
+    }
+
+    /**
+     * Indices of the elements in ascending nanos order (stable), parsing each element once.
+     */
+    public static int[] sortOrder(List<? extends CharSequence> values, UnparseablePolicy policy) {
+        return SortKeys.order(values, DurationParser::parseNanos, policy);
+    }
+
+    /**
+     * Sorts the list in place by parsed nanos (stable). Throws IllegalArgumentException if an element is unparseable.
+     */
+    public static <T extends CharSequence> void sort(List<T> values) {
+        SortKeys.sort(values, DurationParser::parseNanos, UnparseablePolicy.FAIL);
+    }
+
+    /**
+     * Sorts the list in place by parsed nanos (stable), placing unparseable elements per policy.
+     */
+    public static <T extends CharSequence> void sort(List<T> values, UnparseablePolicy policy) {
+        SortKeys.sort(values, DurationParser::parseNanos, policy);
+    }
+
+    /**
+     * Comparator by parsed nanos; throws IllegalArgumentException on unparseable input. Parses both sides on
+     * every call, so prefer {@link #sort(List)} for whole collections.
+     */
+    public static Comparator<CharSequence> comparator() {
+        return SortKeys.comparator(DurationParser::parseNanos, UnparseablePolicy.FAIL);
+    }
+
+    /**
+     * Comparator by parsed nanos, ordering unparseable elements per policy.
+     */
+    public static Comparator<CharSequence> comparator(UnparseablePolicy policy) {
+        return SortKeys.comparator(DurationParser::parseNanos, policy);
+    }
 }
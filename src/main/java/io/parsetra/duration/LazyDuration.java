@@ -0,0 +1,96 @@
+package io.parsetra.duration;
+
+import java.time.Duration;
+
+/**
+ * A duration kept as its raw text and parsed (lenient, as {@link Durations#parse}) on first access, for
+ * configuration objects with many fields that are rarely read. The result is memoized in a plain field:
+ * {@link Duration} is immutable with final fields, so it is safely published even through a data race, and
+ * threads racing on first access at worst each parse once. Whole seconds and minutes resolve to the shared
+ * instances of {@link Durations#parseCanonical}. Parse failures are not memoized; every access to an
+ * invalid duration throws IllegalArgumentException.
+ * <p>
+ * Equality and {@link #toString()} use the raw text; compare {@link #get()} for value equality. Thread-safe.
+ */
+public final class LazyDuration {
+
+    private final String text;
+    private Duration value;
+
+    private LazyDuration(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("duration must not be null");
+        }
+        this.text = text;
+    }
+
+    /**
+     * Holder that parses on first access.
+     */
+    public static LazyDuration of(String text) {
+        return new LazyDuration(text);
+    }
+
+    /**
+     * Holder parsed now; throws IllegalArgumentException if the text is not a valid duration.
+     */
+    public static LazyDuration validated(String text) {
+        return new LazyDuration(text).validate();
+    }
+
+    /**
+     * Parses now if not yet parsed and returns this; throws IllegalArgumentException if invalid.
+     */
+    public LazyDuration validate() {
+        get();
+        return this;
+    }
+
+    /**
+     * The duration, parsed on first call.
+     */
+    public Duration get() {
+        Duration d = value;
+        if (d == null) {
+            d = DurationParser.parseCanonical(text);
+            value = d;
+        }
+        return d;
+    }
+
+    /**
+     * The duration in nanoseconds.
+     */
+    public long nanos() {
+        return get().toNanos();
+    }
+
+    /**
+     * True once the value has been parsed by this thread or one whose write it has observed.
+     */
+    public boolean isParsed() {
+        return value != null;
+    }
+
+    /**
+     * The raw text.
+     */
+    public String text() {
+        return text;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof LazyDuration && ((LazyDuration) o).text.equals(text);
+    }
+
+    @Override
+    public int hashCode() {
+        return text.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,185 @@
+package io.parsetra.extract;
+
+import io.parsetra.duration.DurationParser;
+import io.parsetra.parser.NumericParser;
+import io.parsetra.parser.UnitAutomaton;
+import io.parsetra.parser.UnitTable;
+import io.parsetra.size.SizeParser;
+
+/**
+ * Finds every size and duration embedded in free text, such as "request took 2h30m and wrote 5.2GB to disk",
+ * in one left-to-right pass with no regex and no backtracking. Units are recognized by a
+ * {@link UnitAutomaton} over the same tables the parsers use, so anything {@code Sizes.parse} or
+ * {@code Durations.parse} accepts as a unit, including units registered at runtime, is found here too.
+ * <p>
+ * A value is ASCII digits with an optional fraction ({@code 5}, {@code 5.2}), optional blanks, then a
+ * complete unit word that is not followed by another letter ("5 mbps" is not a size). The number must not
+ * continue a word or another number ("v2s", "1.2.3GB"). Duration segments separated by nothing or blanks
+ * merge into one match ("2h30m", "1h 15m"); sizes are always single segments. Negative signs are not
+ * read, as a '-' in prose is usually a dash. Values that overflow a long are skipped.
+ * Thread-safe.
+ */
+public final class Extractor {
+
+    /** What a match measures. */
+    public enum Kind {
+        /** Byte count. */
+        SIZE,
+        /** Nanoseconds. */
+        DURATION
+    }
+
+    /** Receives matches in text order. */
+    public interface Callback {
+        /**
+         * Called for each match {@code text[start, end)}; value is bytes for {@link Kind#SIZE} and
+         * nanoseconds for {@link Kind#DURATION}.
+         */
+        void onMatch(Kind kind, int start, int end, long value);
+    }
+
+    /** Table order of the automaton: index 0 is sizes, 1 is durations. */
+    private static final int SIZE_TABLE = 0;
+
+    /** Automaton for the unit tables it was built from; replaced when a registry publishes a new table. */
+    private static volatile Compiled compiled = new Compiled(SizeParser.units(), DurationParser.units());
+
+    private static final String CONTEXT = "extracted value";
+
+    private Extractor() {}
+
+    /**
+     * Reports every size and duration in the text to the callback.
+     */
+    public static void scan(CharSequence text, Callback callback) {
+        if (text == null) {
+            throw new IllegalArgumentException("text must not be null");
+        }
+        scan(text, 0, text.length(), callback);
+    }
+
+    /**
+     * Reports every size and duration in {@code text[from, to)}; offsets are relative to the whole text.
+     */
+    public static void scan(CharSequence text, int from, int to, Callback callback) {
+        if (text == null) {
+            throw new IllegalArgumentException("text must not be null");
+        }
+        if (callback == null) {
+            throw new IllegalArgumentException("callback must not be null");
+        }
+        if (from < 0 || to > text.length() || from > to) {
+            throw new IndexOutOfBoundsException("range [" + from + ", " + to + "), length " + text.length());
+        }
+        UnitAutomaton units = automaton();
+        // A duration waiting for a possible next segment: start, end, value.
+        int pendingStart = -1;
+        int pendingEnd = -1;
+        long pendingNanos = 0;
+        int i = from;
+        while (i < to) {
+            char c = text.charAt(i);
+            if (!isDigit(c) || (i != pendingEnd && i > from && !startsNumber(text.charAt(i - 1)))) {
+                // Plain text; only blanks may sit between duration segments.
+                if (pendingStart >= 0 && c != ' ' && c != '\t') {
+                    callback.onMatch(Kind.DURATION, pendingStart, pendingEnd, pendingNanos);
+                    pendingStart = -1;
+                }
+                i++;
+                continue;
+            }
+            int numStart = i;
+            int state = -1;
+            long value = 0;
+            // Number: digits, optionally '.' and more digits.
+            while (i < to && isDigit(text.charAt(i))) i++;
+            if (i + 1 < to && text.charAt(i) == '.' && isDigit(text.charAt(i + 1))) {
+                i++;
+                while (i < to && isDigit(text.charAt(i))) i++;
+            }
+            int numEnd = i;
+            if (i < to && (text.charAt(i) == '.' || isDigit(text.charAt(i)))) {
+                // A run such as a version or address ("1.2.3") holds no value.
+                while (i < to && (text.charAt(i) == '.' || isDigit(text.charAt(i)))) i++;
+            } else {
+                while (i < to && (text.charAt(i) == ' ' || text.charAt(i) == '\t')) i++;
+                // Unit: walk the whole letter run through the automaton; it must end in an accepting state.
+                int unitStart = i;
+                state = UnitAutomaton.START;
+                while (i < to && Character.isLetter(text.charAt(i))) {
+                    if (state >= 0) {
+                        state = units.step(state, text.charAt(i));
+                    }
+                    i++;
+                }
+                if (i == unitStart || state < 0 || units.table(state) < 0) {
+                    // Resume after the number so the blanks and the word are scanned as plain text.
+                    state = -1;
+                    i = numEnd;
+                } else {
+                    try {
+                        value = NumericParser.multiplyRounded(text, numStart, numEnd, units.factor(state), CONTEXT);
+                    } catch (IllegalArgumentException overflow) {
+                        state = -1;
+                    }
+                }
+            }
+            boolean duration = state >= 0 && units.table(state) != SIZE_TABLE;
+            if (duration && pendingStart >= 0 && pendingNanos <= Long.MAX_VALUE - value) {
+                pendingEnd = i;
+                pendingNanos += value;
+                continue;
+            }
+            if (pendingStart >= 0) {
+                callback.onMatch(Kind.DURATION, pendingStart, pendingEnd, pendingNanos);
+                pendingStart = -1;
+            }
+            if (duration) {
+                pendingStart = numStart;
+                pendingEnd = i;
+                pendingNanos = value;
+            } else if (state >= 0) {
+                callback.onMatch(Kind.SIZE, numStart, i, value);
+            }
+        }
+        if (pendingStart >= 0) {
+            callback.onMatch(Kind.DURATION, pendingStart, pendingEnd, pendingNanos);
+        }
+    }
+
+    /**
+     * The automaton for the current size and duration units, rebuilt after a unit is registered. Racing
+     * rebuilds are harmless: each builds the same immutable automaton from the same snapshots.
+     */
+    private static UnitAutomaton automaton() {
+        UnitTable sizes = SizeParser.units();
+        UnitTable durations = DurationParser.units();
+        Compiled c = compiled;
+        if (c.sizes != sizes || c.durations != durations) {
+            c = new Compiled(sizes, durations);
+            compiled = c;
+        }
+        return c.automaton;
+    }
+
+    private static final class Compiled {
+        final UnitTable sizes;
+        final UnitTable durations;
+        final UnitAutomaton automaton;
+
+        Compiled(UnitTable sizes, UnitTable durations) {
+            this.sizes = sizes;
+            this.durations = durations;
+            this.automaton = new UnitAutomaton(sizes, durations);
+        }
+    }
+
+    /** True if a number may start right after {@code c}: not inside a word or another number. */
+    private static boolean startsNumber(char c) {
+        return !Character.isLetterOrDigit(c) && c != '.';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
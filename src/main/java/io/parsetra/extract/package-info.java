@@ -0,0 +1,6 @@
+/**
+ * Free-text extraction: find every embedded size and duration in log lines or messages in one pass.
+ *
+ * @see io.parsetra.extract.Extractor
+ */
+package io.parsetra.extract;
@@ -0,0 +1,351 @@
+package io.parsetra.parser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+/**
+ * Backpressured {@link Flow.Processor} from chunks of delimited text to {@link ParsedBatch}es of primitive values.
+ * Elements may span chunk boundaries; a trailing delimiter at the end of input does not start an element.
+ * Each upstream chunk yields at most {@code ceil(elements / batchSize)} batches, so a slow upstream never
+ * holds back values already received.
+ * <p>
+ * Upstream chunks are requested one at a time and only while the downstream has outstanding demand, so
+ * at most one chunk's worth of batches is buffered. Elements the parser rejects with
+ * IllegalArgumentException become {@link ParsedBatch#failures() failures} rather than stream errors.
+ * Batches are pooled and reused once the downstream {@code onNext} returns.
+ * <p>
+ * Supports a single downstream subscriber. {@code request} and {@code cancel} may be called from any thread.
+ */
+public final class BatchParser<T> implements Flow.Processor<T, ParsedBatch> {
+
+    private final ToLongFunction<String> parser;
+    private final char delimiter;
+    private final int batchSize;
+    private final boolean bytes;
+
+    // Parse state: touched only by upstream signals, which are serial.
+    private final StringBuilder carry = new StringBuilder();
+    private byte[] carryBytes;
+    private int carryBytesLength;
+    private ParsedBatch current;
+    private long elements;
+
+    // Shared state, guarded by lock.
+    private final Object lock = new Object();
+    private final ArrayDeque<ParsedBatch> ready = new ArrayDeque<>();
+    private final ArrayDeque<ParsedBatch> pool = new ArrayDeque<>();
+    private Flow.Subscriber<? super ParsedBatch> downstream;
+    private Flow.Subscription upstream;
+    private long demand;
+    private boolean chunkRequested;
+    private boolean upstreamDone;
+    private Throwable error;
+    private boolean cancelled;
+    private boolean terminated;
+
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private BatchParser(ToLongFunction<String> parser, char delimiter, int batchSize, boolean bytes) {
+        if (parser == null) {
+            throw new IllegalArgumentException("parser must not be null");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        if (bytes && delimiter > 0x7F) {
+            throw new IllegalArgumentException("delimiter must be ASCII for byte input");
+        }
+        this.parser = parser;
+        this.delimiter = delimiter;
+        this.batchSize = batchSize;
+        this.bytes = bytes;
+        this.current = new ParsedBatch(batchSize);
+    }
+
+    /**
+     * Processor over text chunks.
+     */
+    public static BatchParser<CharSequence> ofText(ToLongFunction<String> parser, char delimiter, int batchSize) {
+        return new BatchParser<>(parser, delimiter, batchSize, false);
+    }
+
+    /**
+     * Processor over UTF-8 byte chunks; each buffer is consumed from its position to its limit.
+     * Multi-byte characters may be split across buffers.
+     */
+    public static BatchParser<ByteBuffer> ofBytes(ToLongFunction<String> parser, char delimiter, int batchSize) {
+        return new BatchParser<>(parser, delimiter, batchSize, true);
+    }
+
+    // --- Publisher side ---
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ParsedBatch> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        synchronized (lock) {
+            if (downstream != null) {
+                subscriber.onSubscribe(NOOP);
+                subscriber.onError(new IllegalStateException("BatchParser supports a single subscriber"));
+                return;
+            }
+            downstream = subscriber;
+        }
+        subscriber.onSubscribe(new Downstream());
+        drain();
+    }
+
+    private final class Downstream implements Flow.Subscription {
+        @Override
+        public void request(long n) {
+            Flow.Subscription up = null;
+            synchronized (lock) {
+                if (n <= 0) {
+                    if (error == null) {
+                        error = new IllegalArgumentException("request must be positive: " + n);
+                    }
+                    up = upstream;
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+            }
+            if (up != null) {
+                up.cancel();
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            Flow.Subscription up;
+            synchronized (lock) {
+                cancelled = true;
+                ready.clear();
+                up = upstream;
+            }
+            if (up != null) {
+                up.cancel();
+            }
+        }
+    }
+
+    // --- Subscriber side ---
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        boolean cancel;
+        synchronized (lock) {
+            cancel = upstream != null || cancelled || error != null;
+            if (!cancel) {
+                upstream = subscription;
+            }
+        }
+        if (cancel) {
+            subscription.cancel();
+            return;
+        }
+        drain();
+    }
+
+    @Override
+    public void onNext(T chunk) {
+        try {
+            if (bytes) {
+                feed((ByteBuffer) chunk);
+            } else {
+                feed((CharSequence) chunk);
+            }
+            emitCurrent();
+        } catch (RuntimeException e) {
+            Flow.Subscription up;
+            synchronized (lock) {
+                up = upstream;
+                error = e;
+            }
+            up.cancel();
+        }
+        synchronized (lock) {
+            chunkRequested = false;
+        }
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        synchronized (lock) {
+            error = throwable;
+        }
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (bytes ? carryBytesLength > 0 : carry.length() > 0) {
+            if (isFull()) {
+                emitCurrent();
+            }
+            element(bytes ? decodeCarry() : carry.toString());
+        }
+        emitCurrent();
+        synchronized (lock) {
+            upstreamDone = true;
+        }
+        drain();
+    }
+
+    // --- Parsing ---
+
+    private void feed(CharSequence chunk) {
+        int len = chunk.length();
+        int start = 0;
+        for (int i = 0; i < len; i++) {
+            if (chunk.charAt(i) != delimiter) {
+                continue;
+            }
+            String text;
+            if (carry.length() == 0) {
+                text = chunk.subSequence(start, i).toString();
+            } else {
+                text = carry.append(chunk, start, i).toString();
+                carry.setLength(0);
+            }
+            if (isFull()) {
+                emitCurrent();
+            }
+            element(text);
+            start = i + 1;
+        }
+        carry.append(chunk, start, len);
+    }
+
+    private void feed(ByteBuffer chunk) {
+        byte d = (byte) delimiter;
+        while (chunk.hasRemaining()) {
+            byte b = chunk.get();
+            if (b != d) {
+                if (carryBytes == null || carryBytesLength == carryBytes.length) {
+                    carryBytes = carryBytes == null ? new byte[64] : Arrays.copyOf(carryBytes, carryBytes.length * 2);
+                }
+                carryBytes[carryBytesLength++] = b;
+                continue;
+            }
+            String text = decodeCarry();
+            if (isFull()) {
+                emitCurrent();
+            }
+            element(text);
+        }
+    }
+
+    private String decodeCarry() {
+        if (carryBytesLength == 0) {
+            return "";
+        }
+        String text = new String(carryBytes, 0, carryBytesLength, StandardCharsets.UTF_8);
+        carryBytesLength = 0;
+        return text;
+    }
+
+    private void element(String text) {
+        try {
+            current.add(parser.applyAsLong(text));
+        } catch (IllegalArgumentException e) {
+            current.fail(text, e.getMessage());
+        }
+        elements++;
+    }
+
+    private boolean isFull() {
+        return current.isFull();
+    }
+
+    /** Moves the current batch, if not empty, to the ready queue and starts a fresh one. */
+    private void emitCurrent() {
+        if (current.isEmpty()) {
+            return;
+        }
+        synchronized (lock) {
+            ready.add(current);
+            ParsedBatch next = pool.poll();
+            current = next != null ? next : new ParsedBatch(batchSize);
+        }
+        current.reset(elements);
+    }
+
+    // --- Delivery ---
+
+    /** Serializes all downstream signals; whichever thread wins the counter delivers. */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            for (;;) {
+                Flow.Subscriber<? super ParsedBatch> down;
+                ParsedBatch batch = null;
+                Flow.Subscription requestFrom = null;
+                Throwable failed = null;
+                boolean complete = false;
+                synchronized (lock) {
+                    down = downstream;
+                    if (down == null || cancelled || terminated) {
+                        break;
+                    }
+                    if (error != null) {
+                        failed = error;
+                        terminated = true;
+                    } else if (demand > 0 && !ready.isEmpty()) {
+                        batch = ready.poll();
+                        if (demand != Long.MAX_VALUE) {
+                            demand--;
+                        }
+                    } else if (ready.isEmpty() && upstreamDone) {
+                        complete = true;
+                        terminated = true;
+                    } else if (demand > 0 && upstream != null && !chunkRequested && !upstreamDone) {
+                        chunkRequested = true;
+                        requestFrom = upstream;
+                    } else {
+                        break;
+                    }
+                }
+                if (failed != null) {
+                    down.onError(failed);
+                    break;
+                }
+                if (complete) {
+                    down.onComplete();
+                    break;
+                }
+                if (batch != null) {
+                    down.onNext(batch);
+                    synchronized (lock) {
+                        pool.add(batch);
+                    }
+                    continue;
+                }
+                requestFrom.request(1);
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private static final Flow.Subscription NOOP = new Flow.Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+}
@@ -0,0 +1,116 @@
+package io.parsetra.parser;
+
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Splits one delimited {@link CharSequence} (e.g. "10MB,2GiB,512KB") into primitive values.
+ * Each segment between delimiters is passed to the parse function; a single trailing delimiter
+ * (e.g. a final newline) does not start a new segment. Splits at the delimiter nearest the middle
+ * of the remaining range, so the text can be consumed by a parallel {@code LongStream}.
+ * Not thread-safe; the input must not change while it is being traversed.
+ */
+public final class DelimitedSpliterator implements Spliterator.OfLong {
+
+    /** Ranges shorter than this are not split further. */
+    private static final int MIN_SPLIT_LENGTH = 256;
+
+    private final CharSequence text;
+    private final char delimiter;
+    private final ToLongFunction<String> parser;
+    private int index;
+    private final int fence;
+
+    /**
+     * Creates a spliterator over all segments of the text.
+     */
+    public DelimitedSpliterator(CharSequence text, char delimiter, ToLongFunction<String> parser) {
+        if (text == null) {
+            throw new IllegalArgumentException("text must not be null");
+        }
+        if (parser == null) {
+            throw new IllegalArgumentException("parser must not be null");
+        }
+        int len = text.length();
+        if (len > 0 && text.charAt(len - 1) == delimiter) {
+            len--;
+        }
+        this.text = text;
+        this.delimiter = delimiter;
+        this.parser = parser;
+        // Empty input has no segments: start past the fence.
+        this.index = text.length() == 0 ? 1 : 0;
+        this.fence = len;
+    }
+
+    private DelimitedSpliterator(CharSequence text, char delimiter, ToLongFunction<String> parser, int index, int fence) {
+        this.text = text;
+        this.delimiter = delimiter;
+        this.parser = parser;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+        if (index > fence) {
+            return false;
+        }
+        int end = segmentEnd(index);
+        long value = parser.applyAsLong(text.subSequence(index, end).toString());
+        index = end + 1;
+        action.accept(value);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(LongConsumer action) {
+        int i = index;
+        index = fence + 1;
+        while (i <= fence) {
+            int end = segmentEnd(i);
+            action.accept(parser.applyAsLong(text.subSequence(i, end).toString()));
+            i = end + 1;
+        }
+    }
+
+    @Override
+    public Spliterator.OfLong trySplit() {
+        int lo = index;
+        if (fence - lo < MIN_SPLIT_LENGTH) {
+            return null;
+        }
+        int mid = (lo + fence) >>> 1;
+        int d = mid;
+        while (d < fence && text.charAt(d) != delimiter) {
+            d++;
+        }
+        if (d >= fence) {
+            return null;
+        }
+        index = d + 1;
+        return new DelimitedSpliterator(text, delimiter, parser, lo, d);
+    }
+
+    /**
+     * Returns the number of remaining characters, an upper bound on the number of remaining segments.
+     */
+    @Override
+    public long estimateSize() {
+        return index > fence ? 0 : fence - index + 1;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    private int segmentEnd(int from) {
+        int i = from;
+        while (i < fence && text.charAt(i) != delimiter) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,40 @@
+package io.parsetra.parser;
+
+/**
+ * Java 8 copy of the {@code java.util.concurrent.Flow} interfaces (Java 9+), with the same methods and
+ * contracts, so {@link BatchParser} can be used on Java 8 and bridged to {@code java.util.concurrent.Flow}
+ * or Reactive Streams with one-line adapters.
+ */
+public final class Flow {
+
+    private Flow() {}
+
+    /** A producer of items received by subscribers on demand. */
+    @FunctionalInterface
+    public interface Publisher<T> {
+        void subscribe(Subscriber<? super T> subscriber);
+    }
+
+    /** A receiver of items; every method is called serially. */
+    public interface Subscriber<T> {
+        void onSubscribe(Subscription subscription);
+
+        void onNext(T item);
+
+        void onError(Throwable throwable);
+
+        void onComplete();
+    }
+
+    /** The link between one publisher and one subscriber. */
+    public interface Subscription {
+        /** Adds n (positive) items of demand. */
+        void request(long n);
+
+        void cancel();
+    }
+
+    /** A subscriber of T that publishes R. */
+    public interface Processor<T, R> extends Subscriber<T>, Publisher<R> {
+    }
+}
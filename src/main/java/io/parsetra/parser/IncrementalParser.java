@@ -0,0 +1,394 @@
+package io.parsetra.parser;
+
+import io.parsetra.util.MathUtils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Resumable parser for one value that arrives in pieces (keystrokes, network buffers). Each {@code feed}
+ * only processes the new characters: the partial number and unit and the total of completed segments are
+ * kept between calls, so a value split across buffers needs no copying or re-tokenizing.
+ * <p>
+ * Accepts exactly what the lenient parsers accept: leading and trailing whitespace, whitespace between
+ * number and unit and between segments, case-insensitive units, a sign that must not make the value negative.
+ * {@link #state()} tells whether the input so far is {@link State#COMPLETE} (a valid value; more input may
+ * still extend it), {@link State#INCOMPLETE} (a valid prefix), {@link State#INVALID} (no continuation can make
+ * it valid; sticky until {@link #reset()}) or {@link State#EMPTY}. Not thread-safe.
+ */
+public final class IncrementalParser {
+
+    /** What the input fed so far amounts to. */
+    public enum State {
+        /** Nothing but whitespace. */
+        EMPTY,
+        /** A prefix of a valid value, e.g. "1.", "2h 3" or "5mi" (of "5min"). */
+        INCOMPLETE,
+        /** A valid value; {@link #value()} returns it. */
+        COMPLETE,
+        /** Cannot become valid. */
+        INVALID
+    }
+
+    private static final int LEAD = 0;
+    private static final int SIGN = 1;
+    private static final int NUMBER = 2;
+    private static final int NUMBER_SPACE = 3;
+    private static final int UNIT = 4;
+    private static final int BETWEEN = 5;
+    /** After a trailing control character: only characters that trim() removes may follow. */
+    private static final int TAIL = 6;
+
+    private final UnitTable units;
+    private final boolean sumSegments;
+    private final String context;
+
+    private final StringBuilder number = new StringBuilder();
+    private final StringBuilder unit = new StringBuilder();
+    private int phase;
+    private boolean trimming;
+    private boolean negative;
+    private boolean decimal;
+    private boolean digits;
+    private int segments;
+    private long total;
+    private String error;
+    // Total including the pending segment, kept current as unit characters arrive so state() does no work.
+    private long pendingValue;
+    private boolean pendingValid;
+
+    // UTF-8 decoding state for feed(ByteBuffer).
+    private int utf8Pending;
+    private int utf8Code;
+    private int utf8Min;
+
+    /**
+     * Creates a parser over the unit table. With {@code sumSegments}, segments are added ("1h 30m");
+     * otherwise the value must be a single number+unit.
+     */
+    public IncrementalParser(UnitTable units, boolean sumSegments, String context) {
+        if (units == null) {
+            throw new IllegalArgumentException("units must not be null");
+        }
+        this.units = units;
+        this.sumSegments = sumSegments;
+        this.context = context;
+        reset();
+    }
+
+    /**
+     * Discards all input.
+     */
+    public IncrementalParser reset() {
+        number.setLength(0);
+        unit.setLength(0);
+        phase = LEAD;
+        trimming = true;
+        negative = false;
+        decimal = false;
+        digits = false;
+        segments = 0;
+        total = 0;
+        error = null;
+        pendingValid = false;
+        utf8Pending = 0;
+        return this;
+    }
+
+    /**
+     * Feeds one character; returns the resulting state.
+     */
+    public State feed(char c) {
+        if (error == null) {
+            accept(c);
+        }
+        return state();
+    }
+
+    /**
+     * Feeds characters; returns the resulting state.
+     */
+    public State feed(CharSequence chars) {
+        for (int i = 0, n = chars.length(); i < n && error == null; i++) {
+            accept(chars.charAt(i));
+        }
+        return state();
+    }
+
+    /**
+     * Feeds UTF-8 bytes from the buffer's position to its limit, consuming them. A multi-byte character may
+     * be split across buffers. Returns the resulting state.
+     */
+    public State feed(ByteBuffer bytes) {
+        while (bytes.hasRemaining() && error == null) {
+            int b = bytes.get() & 0xFF;
+            if (utf8Pending > 0) {
+                if ((b & 0xC0) != 0x80) {
+                    fail("malformed UTF-8");
+                    break;
+                }
+                utf8Code = (utf8Code << 6) | (b & 0x3F);
+                if (--utf8Pending == 0) {
+                    decoded(utf8Code);
+                }
+            } else if (b < 0x80) {
+                accept((char) b);
+            } else if (b >= 0xC2 && b <= 0xDF) {
+                begin(1, b & 0x1F, 0x80);
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                begin(2, b & 0x0F, 0x800);
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                begin(3, b & 0x07, 0x10000);
+            } else {
+                fail("malformed UTF-8");
+            }
+        }
+        return state();
+    }
+
+    private void begin(int pending, int bits, int min) {
+        utf8Pending = pending;
+        utf8Code = bits;
+        utf8Min = min;
+    }
+
+    private void decoded(int code) {
+        if (code < utf8Min || code > Character.MAX_CODE_POINT || (code >= 0xD800 && code <= 0xDFFF)) {
+            fail("malformed UTF-8");
+        } else if (code < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            accept((char) code);
+        } else {
+            accept(Character.highSurrogate(code));
+            if (error == null) {
+                accept(Character.lowSurrogate(code));
+            }
+        }
+    }
+
+    /**
+     * The state of the input fed so far.
+     */
+    public State state() {
+        if (error != null) {
+            return State.INVALID;
+        }
+        if (utf8Pending > 0) {
+            return phase == LEAD && segments == 0 && number.length() == 0 ? State.EMPTY : State.INCOMPLETE;
+        }
+        switch (phase) {
+            case LEAD:
+                return State.EMPTY;
+            case UNIT:
+                return pendingValid ? State.COMPLETE : State.INCOMPLETE;
+            case BETWEEN:
+            case TAIL:
+                return State.COMPLETE;
+            default:
+                return State.INCOMPLETE;
+        }
+    }
+
+    /**
+     * The value of the input fed so far (bytes or nanoseconds). Throws IllegalArgumentException unless the
+     * state is {@link State#COMPLETE}.
+     */
+    public long value() {
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        if (phase == UNIT) {
+            if (pendingValid && utf8Pending == 0) {
+                return pendingValue;
+            }
+        } else if ((phase == BETWEEN || phase == TAIL) && utf8Pending == 0) {
+            return total;
+        }
+        throw new IllegalArgumentException((phase == LEAD ? "Empty " : "Incomplete ") + context);
+    }
+
+    /**
+     * The reason the input is invalid, or null.
+     */
+    public String error() {
+        return error;
+    }
+
+    private void accept(char c) {
+        boolean space = Character.isWhitespace(c);
+        switch (phase) {
+            case LEAD:
+                if (c <= ' ' && trimming) {
+                    return;
+                }
+                trimming = false;
+                if (space) {
+                    return;
+                }
+                startNumber(c);
+                return;
+            case SIGN:
+                if (Character.isDigit(c) || c == '.') {
+                    phase = NUMBER;
+                    numberChar(c);
+                } else {
+                    fail("Invalid number in " + context + ": no digits");
+                }
+                return;
+            case NUMBER:
+                if (Character.isDigit(c) || c == '.') {
+                    numberChar(c);
+                } else if (!digits) {
+                    fail("Invalid number in " + context + ": no digits in '" + number + "'");
+                } else if (space) {
+                    phase = NUMBER_SPACE;
+                } else if (Character.isLetter(c)) {
+                    phase = UNIT;
+                    unitChar(c);
+                } else {
+                    fail("Missing unit after number in " + context + ": '" + number + "'");
+                }
+                return;
+            case NUMBER_SPACE:
+                if (space) {
+                    return;
+                }
+                if (Character.isLetter(c)) {
+                    phase = UNIT;
+                    unitChar(c);
+                } else {
+                    fail("Missing unit after number in " + context + ": '" + number + "'");
+                }
+                return;
+            case UNIT:
+                if (Character.isLetter(c)) {
+                    unitChar(c);
+                    return;
+                }
+                if (!completeSegment()) {
+                    return;
+                }
+                between(c, space);
+                return;
+            case BETWEEN:
+                between(c, space);
+                return;
+            default:
+                if (c > ' ') {
+                    fail("Invalid character in " + context + ": '" + c + "'");
+                }
+        }
+    }
+
+    /** After a completed segment: whitespace, a trailing control character, or the next segment. */
+    private void between(char c, boolean space) {
+        if (space) {
+            phase = BETWEEN;
+        } else if (c <= ' ') {
+            phase = TAIL;
+        } else if (!sumSegments) {
+            fail("Expected a single " + context + " value with unit");
+        } else {
+            startNumber(c);
+        }
+    }
+
+    private void startNumber(char c) {
+        number.setLength(0);
+        unit.setLength(0);
+        pendingValid = false;
+        negative = c == '-';
+        decimal = false;
+        digits = false;
+        if (c == '-' || c == '+') {
+            number.append(c);
+            phase = SIGN;
+        } else if (Character.isDigit(c) || c == '.') {
+            phase = NUMBER;
+            numberChar(c);
+        } else {
+            fail("Invalid number in " + context + ": '" + c + "'");
+        }
+    }
+
+    private void numberChar(char c) {
+        if (c == '.') {
+            if (decimal) {
+                fail("Invalid number in " + context + ": multiple decimals");
+                return;
+            }
+            decimal = true;
+        } else {
+            if (c > '9') {
+                fail("Invalid number in " + context + ": non-ASCII digit");
+                return;
+            }
+            digits = true;
+            if (negative && c != '0') {
+                fail("Negative " + context + " value not allowed");
+                return;
+            }
+        }
+        number.append(c);
+    }
+
+    private void unitChar(char c) {
+        unit.append(c);
+        if (!units.isPrefix(unit, 0, unit.length())) {
+            fail("Unknown unit in " + context + ": '" + unit + "'");
+            return;
+        }
+        updatePending();
+    }
+
+    /** Adds the pending segment to the total; false (and invalid) if it is not a valid segment. */
+    private boolean completeSegment() {
+        if (pendingValid) {
+            total = pendingValue;
+            pendingValid = false;
+            segments++;
+            return true;
+        }
+        int index = units.indexOf(unit);
+        if (index < 0) {
+            fail("Unknown unit in " + context + ": '" + unit + "'");
+            return false;
+        }
+        try {
+            long value = NumericParser.multiplyRounded(number, 0, number.length(), units.factor(index), context);
+            total = MathUtils.addExactOrThrow(total, value, context);
+        } catch (IllegalArgumentException e) {
+            fail(e.getMessage());
+            return false;
+        }
+        segments++;
+        return true;
+    }
+
+    /**
+     * Recomputes the pending total after the unit changed (the number is fixed once the unit starts). An
+     * overflow that no unit could avoid, because even a factor of one overflows, fails right away; otherwise a
+     * longer unit ("ms" after "m") may still fit.
+     */
+    private void updatePending() {
+        pendingValid = false;
+        int index = units.indexOf(unit);
+        if (index < 0) {
+            return;
+        }
+        try {
+            long value = NumericParser.multiplyRounded(number, 0, number.length(), units.factor(index), context);
+            pendingValue = MathUtils.addExactOrThrow(total, value, context);
+            pendingValid = true;
+        } catch (IllegalArgumentException e) {
+            try {
+                long smallest = NumericParser.multiplyRounded(number, 0, number.length(), 1, context);
+                MathUtils.addExactOrThrow(total, smallest, context);
+            } catch (IllegalArgumentException unavoidable) {
+                fail(e.getMessage());
+            }
+        }
+    }
+
+    private void fail(String message) {
+        error = message;
+    }
+}
@@ -0,0 +1,98 @@
+package io.parsetra.parser;
+
+import io.parsetra.util.MathUtils;
+
+import java.util.Arrays;
+
+/**
+ * Parses delimited lists of quantities ("1GB, 10GB, 100GB", "5ms;10ms;1s") into a {@code long[]} in one
+ * pass with a {@link TokenCursor}: no splitting, trimming or per-element strings. Each element follows the
+ * lenient single-value rules: whitespace around numbers, units and delimiters is ignored, units are
+ * case-insensitive, a sign is allowed but a negative nonzero value is rejected. A single trailing delimiter
+ * is ignored and blank input is an empty list. Thread-safe.
+ */
+public final class ListParser {
+
+    private ListParser() {}
+
+    /**
+     * Parses the list. With {@code sumSegments} an element may have several segments that are added
+     * ("1h 30m"); otherwise each element must be exactly one number+unit.
+     * Throws IllegalArgumentException naming the element index for any invalid element.
+     */
+    public static long[] parse(CharSequence text, char delimiter, UnitTable units, boolean sumSegments, String context) {
+        if (text == null) {
+            throw new IllegalArgumentException("input must not be null");
+        }
+        if (Character.isWhitespace(delimiter) || Character.isLetterOrDigit(delimiter)
+                || delimiter == '.' || delimiter == '+' || delimiter == '-') {
+            throw new IllegalArgumentException("Delimiter cannot be whitespace, a letter, a digit, '.', '+' or '-': '" + delimiter + "'");
+        }
+        TokenCursor cursor = new TokenCursor(units).reset(text);
+        if (cursor.atEnd()) {
+            return new long[0];
+        }
+        int len = text.length();
+        long[] values = new long[8];
+        int count = 0;
+        while (true) {
+            long sum = 0;
+            int segments = 0;
+            while (cursor.next()) {
+                long value = segmentValue(text, cursor, count, context);
+                if (++segments > 1 && !sumSegments) {
+                    throw invalid(count, context, "expected a single value with unit");
+                }
+                sum = MathUtils.addExactOrThrow(sum, value, context);
+            }
+            if (segments == 0) {
+                throw invalid(count, context, cursor.position() < len && text.charAt(cursor.position()) != delimiter
+                    ? "invalid character '" + text.charAt(cursor.position()) + "'"
+                    : "empty element");
+            }
+            int pos = cursor.position();
+            if (pos < len && text.charAt(pos) != delimiter) {
+                throw invalid(count, context, "invalid character '" + text.charAt(pos) + "'");
+            }
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = sum;
+            if (pos == len || cursor.seek(pos + 1).atEnd()) {
+                return count == values.length ? values : Arrays.copyOf(values, count);
+            }
+        }
+    }
+
+    private static long segmentValue(CharSequence text, TokenCursor cursor, int index, String context) {
+        if (cursor.unitStart() == cursor.unitEnd()) {
+            throw invalid(index, context, "missing unit after number '"
+                + text.subSequence(cursor.numberStart(), cursor.numberEnd()) + "'");
+        }
+        if (cursor.unitIndex() < 0) {
+            throw invalid(index, context, "unknown unit '" + text.subSequence(cursor.unitStart(), cursor.unitEnd()) + "'");
+        }
+        if (!cursor.hasValue()) {
+            throw invalid(index, context, "invalid or out of range number '"
+                + text.subSequence(cursor.numberStart(), cursor.numberEnd()) + "'");
+        }
+        if (cursor.negative() && !isZero(text, cursor.numberStart(), cursor.numberEnd())) {
+            throw invalid(index, context, "negative value not allowed");
+        }
+        return cursor.value();
+    }
+
+    private static boolean isZero(CharSequence s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c != '0' && c != '.' && c != '-' && c != '+') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static IllegalArgumentException invalid(int index, String context, String reason) {
+        return new IllegalArgumentException("Invalid " + context + " list element " + index + ": " + reason);
+    }
+}
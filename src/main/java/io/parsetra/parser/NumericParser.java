@@ -2,6 +2,9 @@ package io.parsetra.parser;
 
 import io.parsetra.util.Validation;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
 /**
  * Parses numeric strings with optional decimal. Strict: no leading/trailing junk, at most one decimal.
  * Thread-safe.
@@ -30,6 +33,73 @@ public final class NumericParser {
         return parseDoubleInternal(t, context, false);
     }
 
+    /**
+     * Returns {@code number * factor} rounded half up (away from zero), computed exactly rather than through
+     * {@code double}, so large integers such as "9007199254740993" keep every digit. The number is an optional sign
+     * and ASCII digits with at most one '.', as checked by {@link #parseDoubleStrict} or {@link Tokenizer#scanNumber};
+     * factor must be positive.
+     * Throws IllegalArgumentException if the result does not fit in a long.
+     */
+    public static long multiplyRounded(String number, long factor, String context) {
+        return multiplyRounded(number, 0, number.length(), factor, context);
+    }
+
+    /**
+     * {@link #multiplyRounded(String, long, String)} over {@code s[start, end)}. Allocates only for numbers
+     * with more than 18 significant digits or an intermediate product beyond a long.
+     */
+    public static long multiplyRounded(CharSequence s, int start, int end, long factor, String context) {
+        int i = start;
+        boolean negative = false;
+        if (end > start && (s.charAt(start) == '-' || s.charAt(start) == '+')) {
+            negative = s.charAt(start) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        long scale = 1;
+        boolean fraction = false;
+        for (; i < end; i++) {
+            char c = s.charAt(i);
+            if (c == '.') {
+                fraction = true;
+                continue;
+            }
+            int digit = c - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Invalid number in " + context + ": '" + s.subSequence(start, end) + "'");
+            }
+            // More than 18 significant digits: fall back to BigDecimal.
+            if (mantissa > (Long.MAX_VALUE - 9) / 10 || scale > Long.MAX_VALUE / 10) {
+                return multiplyRoundedSlow(s.subSequence(start, end).toString(), factor, context);
+            }
+            mantissa = mantissa * 10 + digit;
+            if (fraction) {
+                scale *= 10;
+            }
+        }
+        long product = mantissa * factor;
+        if (mantissa != 0 && (product / factor != mantissa || product < 0)) {
+            return multiplyRoundedSlow(s.subSequence(start, end).toString(), factor, context);
+        }
+        long result = product / scale;
+        long remainder = product % scale;
+        if (remainder >= scale - remainder) {
+            result++;
+        }
+        return negative ? -result : result;
+    }
+
+    private static long multiplyRoundedSlow(String number, long factor, String context) {
+        try {
+            BigDecimal exact = new BigDecimal(number).multiply(BigDecimal.valueOf(factor));
+            return exact.setScale(0, RoundingMode.HALF_UP).longValueExact();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in " + context + ": '" + number + "'", e);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Value out of range in " + context + ": " + number, e);
+        }
+    }
+
     private static double parseDoubleInternal(String s, String context, boolean strict) {
         int decimalCount = 0;
         int start = 0;
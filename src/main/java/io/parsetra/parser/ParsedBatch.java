@@ -0,0 +1,127 @@
+package io.parsetra.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One batch of parsed primitive values emitted by {@link BatchParser}: one slot per input element,
+ * in input order, plus the elements that failed to parse (their slots hold 0).
+ * <p>
+ * Batches are pooled: a batch is only valid during the {@code onNext} call that delivers it and is
+ * refilled afterwards. Copy what must outlive the call with {@link #toArray()}. Not thread-safe.
+ */
+public final class ParsedBatch {
+
+    private final long[] values;
+    private final List<Failure> failures = new ArrayList<>();
+    private final List<Failure> failuresView = Collections.unmodifiableList(failures);
+    private int size;
+    private long offset;
+
+    ParsedBatch(int capacity) {
+        this.values = new long[capacity];
+    }
+
+    /**
+     * Number of elements in this batch.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Parsed value of the element at the index (0 for an element that failed).
+     */
+    public long value(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        return values[index];
+    }
+
+    /**
+     * Backing array; only the first {@link #size()} entries belong to this batch. Reused after {@code onNext}.
+     */
+    public long[] values() {
+        return values;
+    }
+
+    /**
+     * Copy of the values of this batch.
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Zero-based position in the whole input of this batch's first element.
+     */
+    public long offset() {
+        return offset;
+    }
+
+    /**
+     * Elements that failed to parse, in input order.
+     */
+    public List<Failure> failures() {
+        return failuresView;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean isFull() {
+        return size == values.length;
+    }
+
+    void add(long value) {
+        values[size++] = value;
+    }
+
+    void fail(String input, String message) {
+        failures.add(new Failure(size, input, message));
+        values[size++] = 0;
+    }
+
+    void reset(long offset) {
+        this.size = 0;
+        this.offset = offset;
+        failures.clear();
+    }
+
+    /** An element that could not be parsed. Immutable. */
+    public static final class Failure {
+        private final int index;
+        private final String input;
+        private final String message;
+
+        Failure(int index, String input, String message) {
+            this.index = index;
+            this.input = input;
+            this.message = message;
+        }
+
+        /** Index of the element within its batch. */
+        public int index() {
+            return index;
+        }
+
+        /** The element text. */
+        public String input() {
+            return input;
+        }
+
+        /** The parser's error message. */
+        public String message() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return index + ": " + message;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package io.parsetra.parser;
+
+/**
+ * Pull-based cursor over the number+unit segments of a {@link CharSequence}, for parsing quantities in place
+ * inside larger expressions (lists, ranges, rates). Each {@link #next()} exposes the segment as offsets into
+ * the input and, when a unit table is set and the unit is known, its value pre-multiplied by the unit factor.
+ * <p>
+ * Segment grammar: optional whitespace, a signed decimal number ({@link Tokenizer#scanNumber}), optional
+ * whitespace, then a run of letters (possibly empty). The cursor never consumes anything else: at a character
+ * that cannot start a segment {@code next()} returns false and {@link #position()} stays on it, so the caller
+ * can consume its own syntax and {@link #seek} past it.
+ * <pre>
+ * TokenCursor c = Durations.cursor().reset("5ms..1s");
+ * c.next();                 // "5ms", c.value() == 5_000_000
+ * c.seek(c.position() + 2); // skip ".."
+ * c.next();                 // "1s"
+ * </pre>
+ * Does not allocate except for numbers beyond 18 significant digits. Reusable via {@link #reset}; not thread-safe.
+ */
+public final class TokenCursor {
+
+    private static final String CONTEXT = "token";
+
+    private final UnitTable units;
+    private CharSequence input;
+    private int end;
+    private int position;
+    private int numberStart;
+    private int numberEnd;
+    private int unitStart;
+    private int unitEnd;
+    private int unitIndex;
+    private boolean hasValue;
+    private long value;
+
+    /**
+     * Creates a cursor that resolves units against the table, or only tracks offsets if {@code units} is null.
+     */
+    public TokenCursor(UnitTable units) {
+        this.units = units;
+        this.input = "";
+        clearSegment(0);
+    }
+
+    /**
+     * Restarts the cursor over the whole input.
+     */
+    public TokenCursor reset(CharSequence input) {
+        if (input == null) {
+            throw new IllegalArgumentException("input must not be null");
+        }
+        return reset(input, 0, input.length());
+    }
+
+    /**
+     * Restarts the cursor over {@code input[from, to)}; offsets stay relative to the whole input.
+     */
+    public TokenCursor reset(CharSequence input, int from, int to) {
+        if (input == null) {
+            throw new IllegalArgumentException("input must not be null");
+        }
+        if (from < 0 || to > input.length() || from > to) {
+            throw new IndexOutOfBoundsException("range [" + from + ", " + to + "), length " + input.length());
+        }
+        this.input = input;
+        this.end = to;
+        this.position = from;
+        clearSegment(from);
+        return this;
+    }
+
+    /**
+     * Moves to the given offset (between the start of the current range and its end) and clears the segment.
+     */
+    public TokenCursor seek(int offset) {
+        if (offset < 0 || offset > end) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", end " + end);
+        }
+        position = offset;
+        clearSegment(offset);
+        return this;
+    }
+
+    /**
+     * Reads the next segment. Returns false, without consuming anything but whitespace, at the end of the
+     * range or at a character that does not start a number; never throws.
+     */
+    public boolean next() {
+        int i = position;
+        while (i < end && Character.isWhitespace(input.charAt(i))) i++;
+        int numEnd = i < end ? Tokenizer.scanNumber(input, i, end) : -1;
+        if (numEnd < 0) {
+            position = i;
+            clearSegment(i);
+            return false;
+        }
+        numberStart = i;
+        numberEnd = numEnd;
+        int u = numEnd;
+        while (u < end && Character.isWhitespace(input.charAt(u))) u++;
+        int uEnd = Tokenizer.scanUnit(input, u, end);
+        if (uEnd == u) {
+            // No unit: do not consume the whitespace after the number.
+            unitStart = numEnd;
+            unitEnd = numEnd;
+        } else {
+            unitStart = u;
+            unitEnd = uEnd;
+        }
+        position = unitEnd;
+        resolve();
+        return true;
+    }
+
+    private void resolve() {
+        unitIndex = units == null || unitStart == unitEnd ? -1 : units.indexOf(input, unitStart, unitEnd);
+        hasValue = false;
+        value = 0;
+        if (unitIndex >= 0) {
+            try {
+                value = NumericParser.multiplyRounded(input, numberStart, numberEnd, units.factor(unitIndex), CONTEXT);
+                hasValue = true;
+            } catch (IllegalArgumentException e) {
+                // Out of range or non-ASCII digits: leave hasValue false.
+            }
+        }
+    }
+
+    private void clearSegment(int at) {
+        numberStart = numberEnd = unitStart = unitEnd = at;
+        unitIndex = -1;
+        hasValue = false;
+        value = 0;
+    }
+
+    /**
+     * Offset just after the current segment, or where scanning stopped after {@code next()} returned false.
+     */
+    public int position() {
+        return position;
+    }
+
+    /**
+     * True if only whitespace (or nothing) remains.
+     */
+    public boolean atEnd() {
+        int i = position;
+        while (i < end && Character.isWhitespace(input.charAt(i))) i++;
+        return i == end;
+    }
+
+    /** Start offset of the current segment's number, including its sign. */
+    public int numberStart() {
+        return numberStart;
+    }
+
+    /** End offset (exclusive) of the current segment's number. */
+    public int numberEnd() {
+        return numberEnd;
+    }
+
+    /** Start offset of the current segment's unit; equals {@link #unitEnd()} if there is none. */
+    public int unitStart() {
+        return unitStart;
+    }
+
+    /** End offset (exclusive) of the current segment's unit. */
+    public int unitEnd() {
+        return unitEnd;
+    }
+
+    /** True if the number starts with '-'. */
+    public boolean negative() {
+        return numberEnd > numberStart && input.charAt(numberStart) == '-';
+    }
+
+    /**
+     * Index of the unit in the table, or -1 if there is no table, no unit, or the unit is unknown.
+     */
+    public int unitIndex() {
+        return unitIndex;
+    }
+
+    /**
+     * True if {@link #value()} is available: the unit is known and the scaled value fits in a long.
+     */
+    public boolean hasValue() {
+        return hasValue;
+    }
+
+    /**
+     * The number multiplied by the unit factor, exact and rounded half up. Throws IllegalStateException
+     * unless {@link #hasValue()}.
+     */
+    public long value() {
+        if (!hasValue) {
+            throw new IllegalStateException("No value at offset " + numberStart);
+        }
+        return value;
+    }
+}
@@ -7,7 +7,8 @@ import java.util.List;
 
 /**
  * Tokenizes a string into number+unit pairs (e.g. "2h 30m" or "2h30m" -&gt; ["2","h"], ["30","m"]).
- * Deterministic character-by-character parsing. Thread-safe.
+ * Deterministic character-by-character parsing. {@link TokenCursor} walks the same segments in place without
+ * allocating. Thread-safe.
  */
 public final class Tokenizer {
 
@@ -74,6 +75,43 @@ public final class Tokenizer {
         return tokens;
     }
 
+    /**
+     * Scans an optional sign and a decimal number (digits with at most one '.') starting at {@code from}.
+     * Returns the end offset, or -1 if there is no digit or a second decimal point. Never throws or allocates.
+     */
+    public static int scanNumber(CharSequence s, int from, int to) {
+        int i = from;
+        if (i < to && (s.charAt(i) == '-' || s.charAt(i) == '+')) i++;
+        boolean hasDigit = false;
+        boolean hasDecimal = false;
+        while (i < to) {
+            char c = s.charAt(i);
+            if (Character.isDigit(c)) {
+                hasDigit = true;
+            } else if (c == '.') {
+                if (hasDecimal) {
+                    return -1;
+                }
+                hasDecimal = true;
+            } else {
+                break;
+            }
+            i++;
+        }
+        return hasDigit ? i : -1;
+    }
+
+    /**
+     * Scans a run of letters starting at {@code from}; returns its end offset ({@code from} if none).
+     */
+    public static int scanUnit(CharSequence s, int from, int to) {
+        int i = from;
+        while (i < to && Character.isLetter(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
     private static int readNumber(String s, int start, String context) {
         int i = start;
         int len = s.length();
@@ -0,0 +1,157 @@
+package io.parsetra.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Deterministic automaton (a trie over a compact alphabet) recognizing the unit names of several
+ * {@link UnitTable}s at once, one character per {@link #step}, with no backtracking. Lets a scanner
+ * classify a unit as it walks the letters instead of cutting out a substring and trying each table.
+ * Case-insensitive like {@link UnitTable#indexOf}. If two tables share a name, the earlier table wins.
+ * Immutable. Thread-safe.
+ */
+public final class UnitAutomaton {
+
+    /** State before any character; {@link #step} returns -1 once no unit can match. */
+    public static final int START = 0;
+
+    private final UnitTable[] tables;
+    /** Character class of each ASCII character (uppercase folded), or -1. */
+    private final int[] asciiClass = new int[128];
+    /** Sorted non-ASCII characters of the alphabet; their class follows the ASCII classes. */
+    private final char[] otherChars;
+    private final int asciiCount;
+    private final int width;
+    private final int[] next;
+    private final int[] acceptTable;
+    private final int[] acceptUnit;
+
+    /**
+     * Builds the automaton for the given tables; {@link #table} reports matches by position in this list.
+     */
+    public UnitAutomaton(UnitTable... tables) {
+        if (tables == null || tables.length == 0) {
+            throw new IllegalArgumentException("At least one unit table is required");
+        }
+        this.tables = tables.clone();
+        Arrays.fill(asciiClass, -1);
+        StringBuilder others = new StringBuilder();
+        int ascii = 0;
+        for (UnitTable table : this.tables) {
+            if (table == null) {
+                throw new IllegalArgumentException("Unit table must not be null");
+            }
+            for (int u = 0; u < table.size(); u++) {
+                String name = table.name(u);
+                for (int k = 0; k < name.length(); k++) {
+                    char c = name.charAt(k);
+                    if (c < 128) {
+                        if (asciiClass[c] < 0) {
+                            asciiClass[c] = ascii++;
+                        }
+                    } else if (others.indexOf(String.valueOf(c)) < 0) {
+                        others.append(c);
+                    }
+                }
+            }
+        }
+        otherChars = others.toString().toCharArray();
+        Arrays.sort(otherChars);
+        for (char c = 'A'; c <= 'Z'; c++) {
+            asciiClass[c] = asciiClass[c + ('a' - 'A')];
+        }
+        asciiCount = ascii;
+        width = ascii + otherChars.length;
+
+        // Build the trie with growable rows, then flatten into one transition array.
+        List<int[]> rows = new ArrayList<>();
+        List<int[]> accepts = new ArrayList<>();
+        rows.add(newRow(width));
+        accepts.add(new int[] { -1, -1 });
+        for (int t = 0; t < this.tables.length; t++) {
+            UnitTable table = this.tables[t];
+            for (int u = 0; u < table.size(); u++) {
+                String name = table.name(u);
+                int state = START;
+                for (int k = 0; k < name.length(); k++) {
+                    int cls = classOf(name.charAt(k));
+                    int target = rows.get(state)[cls];
+                    if (target < 0) {
+                        target = rows.size();
+                        rows.get(state)[cls] = target;
+                        rows.add(newRow(width));
+                        accepts.add(new int[] { -1, -1 });
+                    }
+                    state = target;
+                }
+                if (accepts.get(state)[0] < 0) {
+                    accepts.set(state, new int[] { t, u });
+                }
+            }
+        }
+        int states = rows.size();
+        next = new int[states * width];
+        acceptTable = new int[states];
+        acceptUnit = new int[states];
+        for (int s = 0; s < states; s++) {
+            System.arraycopy(rows.get(s), 0, next, s * width, width);
+            acceptTable[s] = accepts.get(s)[0];
+            acceptUnit[s] = accepts.get(s)[1];
+        }
+    }
+
+    private static int[] newRow(int width) {
+        int[] row = new int[width];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private int classOf(char c) {
+        if (c < 128) {
+            return asciiClass[c];
+        }
+        int i = Arrays.binarySearch(otherChars, Character.toLowerCase(c));
+        return i < 0 ? -1 : asciiCount + i;
+    }
+
+    /**
+     * Returns the state after reading {@code c} in {@code state}, or -1 if no unit name continues that way.
+     */
+    public int step(int state, char c) {
+        int cls = classOf(c);
+        return cls < 0 ? -1 : next[state * width + cls];
+    }
+
+    /**
+     * Index (in constructor order) of the table whose unit ends in this state, or -1 if none does.
+     */
+    public int table(int state) {
+        return acceptTable[state];
+    }
+
+    /**
+     * Index of the matched unit within {@link #table(int)}'s table, or -1.
+     */
+    public int unit(int state) {
+        return acceptUnit[state];
+    }
+
+    /**
+     * Factor of the unit ending in this state; only valid when {@link #table(int)} is not -1.
+     */
+    public long factor(int state) {
+        return tables[acceptTable[state]].factor(acceptUnit[state]);
+    }
+
+    /**
+     * Walks {@code s[start, end)} and returns the final state, or -1 if it spells no unit or unit prefix.
+     */
+    public int run(CharSequence s, int start, int end) {
+        int state = START;
+        for (int i = start; i < end && state >= 0; i++) {
+            state = step(state, s.charAt(i));
+        }
+        return state;
+    }
+}
@@ -25,4 +25,20 @@ public final class UnitMatcher {
         }
         return unitMap.get(normalized);
     }
+
+    /**
+     * Returns the factor for the given unit from the table, or throws if unknown.
+     * Unit is trimmed and matched case-insensitively.
+     */
+    public static long match(String unit, UnitTable table, String context) {
+        if (unit == null || unit.isEmpty()) {
+            throw new IllegalArgumentException("Unit must not be empty in " + context);
+        }
+        String trimmed = unit.trim();
+        int index = table.indexOf(trimmed);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown unit in " + context + ": '" + unit + "'");
+        }
+        return table.factor(index);
+    }
 }
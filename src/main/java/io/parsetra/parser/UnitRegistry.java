@@ -0,0 +1,101 @@
+package io.parsetra.parser;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Copy-on-write registry of units for one kind of value (sizes or durations). Readers take the current
+ * {@link UnitTable} snapshot with a single volatile read and never lock; each registration builds a new
+ * immutable table (including its hash index) and publishes it with a compare-and-set, so a reader sees
+ * either the old table or the complete new one. Registration is meant for startup and configuration
+ * changes; it copies the table each time. Thread-safe.
+ */
+public final class UnitRegistry {
+
+    private final AtomicReference<UnitTable> table;
+    private final String context;
+
+    /**
+     * Creates a registry starting from the given built-in units.
+     */
+    public UnitRegistry(UnitTable initial, String context) {
+        if (initial == null) {
+            throw new IllegalArgumentException("initial table must not be null");
+        }
+        this.table = new AtomicReference<>(initial);
+        this.context = context;
+    }
+
+    /**
+     * The current units. The returned table never changes; later registrations publish a new one.
+     */
+    public UnitTable table() {
+        return table.get();
+    }
+
+    /**
+     * Adds a unit (e.g. "w" for a week, or "blocks" of 512 bytes), matched case-insensitively.
+     * Registering a name again with the same factor does nothing; a different factor, a name that is not
+     * all letters, or a non-positive factor throws IllegalArgumentException.
+     */
+    public void register(String name, long factor) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Unit name must not be empty in " + context);
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (!Character.isLetter(name.charAt(i))) {
+                throw new IllegalArgumentException("Unit name must consist of letters in " + context + ": '" + name + "'");
+            }
+        }
+        if (factor <= 0) {
+            throw new IllegalArgumentException("Unit factor must be positive in " + context + ": " + factor);
+        }
+        String lower = name.toLowerCase(Locale.ROOT);
+        while (true) {
+            UnitTable current = table.get();
+            int existing = current.indexOf(lower);
+            if (existing >= 0) {
+                if (current.factor(existing) != factor) {
+                    throw new IllegalArgumentException("Unit already registered in " + context + " with a different factor: '"
+                        + name + "' = " + current.factor(existing));
+                }
+                return;
+            }
+            int n = current.size();
+            String[] names = new String[n + 1];
+            long[] factors = new long[n + 1];
+            for (int i = 0; i < n; i++) {
+                names[i] = current.name(i);
+                factors[i] = current.factor(i);
+            }
+            names[n] = lower;
+            factors[n] = factor;
+            if (table.compareAndSet(current, new UnitTable(names, factors))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds {@code alias} with the same factor as the existing unit {@code target} (e.g. "sec" for "s").
+     */
+    public void alias(String alias, String target) {
+        UnitTable current = table.get();
+        int index = target == null ? -1 : current.indexOf(target);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown unit in " + context + ": '" + target + "'");
+        }
+        register(alias, current.factor(index));
+    }
+
+    @Override
+    public String toString() {
+        UnitTable current = table.get();
+        String[] names = new String[current.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = current.name(i);
+        }
+        return "UnitRegistry[" + context + ": " + Arrays.toString(names) + "]";
+    }
+}
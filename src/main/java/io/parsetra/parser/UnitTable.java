@@ -0,0 +1,191 @@
+package io.parsetra.parser;
+
+import java.util.Locale;
+
+/**
+ * Immutable table of unit names and their factors (e.g. "kb" -&gt; 1000). Names are stored lowercased
+ * and looked up case-insensitively without allocating, through an open-addressing hash over the ASCII
+ * names, so lookups stay constant-time as custom units are added (see {@link UnitRegistry}). Backed by
+ * plain arrays, so a table held in a static final field needs no map construction at class
+ * initialization. If a name appears twice, the first entry wins. Thread-safe.
+ */
+public final class UnitTable {
+
+    private final String[] names;
+    private final long[] factors;
+    /** Index + 1 of each ASCII name at its hash slot, 0 for empty; length is a power of two. */
+    private final int[] slots;
+
+    /**
+     * Creates a table from parallel arrays of names and positive factors. Arrays are copied.
+     */
+    public UnitTable(String[] names, long[] factors) {
+        if (names == null || factors == null || names.length != factors.length) {
+            throw new IllegalArgumentException("names and factors must be non-null and of equal length");
+        }
+        this.names = new String[names.length];
+        this.factors = factors.clone();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] == null || names[i].isEmpty()) {
+                throw new IllegalArgumentException("Unit name must not be empty");
+            }
+            if (factors[i] <= 0) {
+                throw new IllegalArgumentException("Unit factor must be positive: " + names[i]);
+            }
+            this.names[i] = names[i].toLowerCase(Locale.ROOT);
+        }
+        int capacity = Integer.highestOneBit(Math.max(4, this.names.length * 3)) << 1;
+        this.slots = new int[capacity];
+        for (int i = 0; i < this.names.length; i++) {
+            String name = this.names[i];
+            if (!isAscii(name) || indexOf(name) >= 0) {
+                continue;
+            }
+            int slot = mix(hash(name, 0, name.length())) & (capacity - 1);
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            slots[slot] = i + 1;
+        }
+    }
+
+    private static boolean isAscii(String name) {
+        for (int k = 0; k < name.length(); k++) {
+            if (name.charAt(k) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Hash of ASCII {@code s[start, end)} with A-Z folded to lowercase, or -1 if a char is not ASCII. */
+    private static int hash(CharSequence s, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                return -1;
+            }
+            if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            }
+            h = 31 * h + c;
+        }
+        return h & Integer.MAX_VALUE;
+    }
+
+    private static int mix(int h) {
+        return h ^ (h >>> 7) ^ (h >>> 16);
+    }
+
+    /**
+     * Number of units in the table.
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Lowercased name of the unit at the given index.
+     */
+    public String name(int index) {
+        return names[index];
+    }
+
+    /**
+     * Factor of the unit at the given index.
+     */
+    public long factor(int index) {
+        return factors[index];
+    }
+
+    /**
+     * Returns the index of the unit, or -1 if unknown. Case-insensitive.
+     */
+    public int indexOf(CharSequence unit) {
+        return indexOf(unit, 0, unit.length());
+    }
+
+    /**
+     * Returns the index of the unit spelled by {@code s[start, end)}, or -1 if unknown. Case-insensitive.
+     */
+    public int indexOf(CharSequence s, int start, int end) {
+        int h = hash(s, start, end);
+        if (h < 0) {
+            return indexOfSlow(s, start, end);
+        }
+        int mask = slots.length - 1;
+        int len = end - start;
+        for (int slot = mix(h) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            String name = names[slots[slot] - 1];
+            if (name.length() != len) {
+                continue;
+            }
+            int j = 0;
+            while (j < len) {
+                char c = s.charAt(start + j);
+                if (c >= 'A' && c <= 'Z') {
+                    c += 'a' - 'A';
+                }
+                if (c != name.charAt(j)) {
+                    break;
+                }
+                j++;
+            }
+            if (j == len) {
+                return slots[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * True if {@code s[start, end)} is a prefix of some unit name (case-insensitive), so more letters
+     * could still complete a unit.
+     */
+    public boolean isPrefix(CharSequence s, int start, int end) {
+        int len = end - start;
+        for (int i = start; i < end; i++) {
+            if (s.charAt(i) >= 0x80) {
+                String normalized = s.subSequence(start, end).toString().toLowerCase(Locale.ROOT);
+                for (String name : names) {
+                    if (name.startsWith(normalized)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }
+        for (String name : names) {
+            if (name.length() < len) {
+                continue;
+            }
+            int j = 0;
+            while (j < len) {
+                char c = s.charAt(start + j);
+                if (c >= 'A' && c <= 'Z') {
+                    c += 'a' - 'A';
+                }
+                if (c != name.charAt(j)) {
+                    break;
+                }
+                j++;
+            }
+            if (j == len) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Non-ASCII input: defer to full Unicode lowercasing, as {@link UnitMatcher} does. */
+    private int indexOfSlow(CharSequence s, int start, int end) {
+        String normalized = s.subSequence(start, end).toString().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(normalized)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
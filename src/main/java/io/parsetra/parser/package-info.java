@@ -1,5 +1,8 @@
 /**
- * Low-level parsing primitives: tokenization, numeric parsing, and unit matching.
+ * Low-level parsing primitives: tokenization, numeric parsing, and unit matching (including the multi-table
+ * {@link io.parsetra.parser.UnitAutomaton}), plus the in-place
+ * {@link io.parsetra.parser.TokenCursor} and bulk front ends (delimited spliterators and the backpressured
+ * {@link io.parsetra.parser.BatchParser}).
  * Used by the duration and size modules.
  */
 package io.parsetra.parser;
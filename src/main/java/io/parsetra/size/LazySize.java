@@ -0,0 +1,88 @@
+package io.parsetra.size;
+
+/**
+ * A size kept as its raw text and parsed (lenient, as {@link Sizes#parse}) on first access, for configuration
+ * objects with many fields that are rarely read. The byte count is memoized in a volatile {@code long}
+ * with -1 as the "not parsed" sentinel (sizes are never negative): threads racing on first access may
+ * each parse, but all store the same value, and no lock is taken. Parse failures are not memoized; every
+ * access to an invalid size throws IllegalArgumentException.
+ * <p>
+ * Equality and {@link #toString()} use the raw text; compare {@link #bytes()} for value equality. Thread-safe.
+ */
+public final class LazySize {
+
+    private static final long UNPARSED = -1;
+
+    private final String text;
+    private volatile long bytes = UNPARSED;
+
+    private LazySize(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("size must not be null");
+        }
+        this.text = text;
+    }
+
+    /**
+     * Holder that parses on first access.
+     */
+    public static LazySize of(String text) {
+        return new LazySize(text);
+    }
+
+    /**
+     * Holder parsed now; throws IllegalArgumentException if the text is not a valid size.
+     */
+    public static LazySize validated(String text) {
+        return new LazySize(text).validate();
+    }
+
+    /**
+     * Parses now if not yet parsed and returns this; throws IllegalArgumentException if invalid.
+     */
+    public LazySize validate() {
+        bytes();
+        return this;
+    }
+
+    /**
+     * The byte count, parsed on first call.
+     */
+    public long bytes() {
+        long b = bytes;
+        if (b == UNPARSED) {
+            b = SizeParser.parse(text);
+            bytes = b;
+        }
+        return b;
+    }
+
+    /**
+     * True once the value has been parsed by some thread.
+     */
+    public boolean isParsed() {
+        return bytes != UNPARSED;
+    }
+
+    /**
+     * The raw text.
+     */
+    public String text() {
+        return text;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof LazySize && ((LazySize) o).text.equals(text);
+    }
+
+    @Override
+    public int hashCode() {
+        return text.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,208 @@
+package io.parsetra.size;
+
+import io.parsetra.util.FixedPoint;
+import io.parsetra.util.FormatPattern;
+import io.parsetra.util.FormattedColumn;
+import io.parsetra.util.Validation;
+
+import java.util.List;
+
+/**
+ * A size layout compiled once from a template such as {@code "{v:.2}{unit:binary}"}.
+ * <p>
+ * Fields:
+ * <ul>
+ *   <li>{@code {v}} the value in the chosen unit, as {@link SizeFormatter#format(long)} writes it;
+ *       {@code {v:.N}} with exactly N fraction digits (0-9, rounded half up)</li>
+ *   <li>{@code {unit}} the unit suffix; {@code {unit:decimal}} (the default), {@code {unit:binary}} or a fixed
+ *       unit such as {@code {unit:MiB}} selects the units for the whole template</li>
+ *   <li>{@code {bytes}} the exact byte count</li>
+ * </ul>
+ * The unit is the largest one not exceeding the value. {@code {{} and {@code }}} are literal braces.
+ * <p>
+ * Compiling resolves the unit table, precisions and literal text up front, so formatting is a loop over
+ * the plan with no template parsing and no {@code String.format}. Immutable. Thread-safe.
+ */
+public final class SizeFormat {
+
+    private static final byte VALUE = 0;
+    private static final byte UNIT = 1;
+    private static final byte BYTES = 2;
+
+    private final String pattern;
+    /** Literal text before each field, plus the trailing literal. */
+    private final String[] literals;
+    private final byte[] kinds;
+    /** Fraction digits of value fields, or -1 for the {@link SizeFormatter#format(long)} style. */
+    private final int[] precisions;
+    private final long[] units;
+    private final String[] suffixes;
+
+    private SizeFormat(String pattern, String[] literals, byte[] kinds, int[] precisions, long[] units,
+                       String[] suffixes) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.kinds = kinds;
+        this.precisions = precisions;
+        this.units = units;
+        this.suffixes = suffixes;
+    }
+
+    /**
+     * Compiles a template; throws IllegalArgumentException for unknown fields, conflicting unit choices
+     * or unbalanced braces.
+     */
+    public static SizeFormat compile(String pattern) {
+        List<String> parts = FormatPattern.split(pattern);
+        int fields = parts.size() / 2;
+        String[] literals = new String[fields + 1];
+        byte[] kinds = new byte[fields];
+        int[] precisions = new int[fields];
+        String unitSpec = null;
+        for (int i = 0; i < fields; i++) {
+            literals[i] = parts.get(2 * i);
+            String field = parts.get(2 * i + 1);
+            int colon = field.indexOf(':');
+            String name = colon < 0 ? field : field.substring(0, colon);
+            String spec = colon < 0 ? null : field.substring(colon + 1);
+            switch (name) {
+                case "v":
+                    kinds[i] = VALUE;
+                    precisions[i] = spec == null ? -1 : parsePrecision(spec, field, pattern);
+                    break;
+                case "unit":
+                    kinds[i] = UNIT;
+                    String s = spec == null ? "decimal" : spec;
+                    if (unitSpec != null && !unitSpec.equals(s)) {
+                        throw new IllegalArgumentException("Conflicting units '" + unitSpec + "' and '" + s
+                            + "' in pattern: '" + pattern + "'");
+                    }
+                    unitSpec = s;
+                    break;
+                case "bytes":
+                    if (spec != null) {
+                        throw unknownField(field, pattern);
+                    }
+                    kinds[i] = BYTES;
+                    break;
+                default:
+                    throw unknownField(field, pattern);
+            }
+        }
+        literals[fields] = parts.get(parts.size() - 1);
+        long[] units;
+        String[] suffixes;
+        if (unitSpec == null || unitSpec.equals("decimal")) {
+            units = SizeFormatter.units(false);
+            suffixes = SizeFormatter.suffixes(false);
+        } else if (unitSpec.equals("binary")) {
+            units = SizeFormatter.units(true);
+            suffixes = SizeFormatter.suffixes(true);
+        } else {
+            long unit = fixedUnit(unitSpec, false);
+            if (unit == 0) {
+                unit = fixedUnit(unitSpec, true);
+            }
+            if (unit == 0) {
+                throw new IllegalArgumentException("Unknown unit '" + unitSpec + "' in pattern: '" + pattern
+                    + "' (expected decimal, binary or a unit such as MB or MiB)");
+            }
+            units = new long[] { unit };
+            suffixes = new String[] { unitSpec };
+        }
+        return new SizeFormat(pattern, literals, kinds, precisions, units, suffixes);
+    }
+
+    private static int parsePrecision(String spec, String field, String pattern) {
+        if (spec.length() == 2 && spec.charAt(0) == '.' && spec.charAt(1) >= '0' && spec.charAt(1) <= '9') {
+            return spec.charAt(1) - '0';
+        }
+        throw new IllegalArgumentException("Invalid precision '{" + field + "}' in pattern: '" + pattern
+            + "' (expected .0 to .9)");
+    }
+
+    private static long fixedUnit(String suffix, boolean binary) {
+        long[] units = SizeFormatter.units(binary);
+        String[] suffixes = SizeFormatter.suffixes(binary);
+        for (int i = 0; i < suffixes.length; i++) {
+            if (suffixes[i].equals(suffix)) {
+                return units[i];
+            }
+        }
+        return 0;
+    }
+
+    private static IllegalArgumentException unknownField(String field, String pattern) {
+        return new IllegalArgumentException("Unknown field '{" + field + "}' in pattern: '" + pattern
+            + "' (expected v, unit or bytes)");
+    }
+
+    /**
+     * The template this format was compiled from.
+     */
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Formats a byte count; throws IllegalArgumentException if it is negative.
+     */
+    public String format(long bytes) {
+        StringBuilder sb = new StringBuilder(pattern.length() + 16);
+        appendTo(sb, bytes);
+        return sb.toString();
+    }
+
+    /**
+     * Appends a formatted byte count to the builder; throws IllegalArgumentException if it is negative.
+     */
+    public void appendTo(StringBuilder sb, long bytes) {
+        Validation.requireNonNegative(bytes, "bytes");
+        int u = units.length - 1;
+        while (u > 0 && bytes < units[u]) {
+            u--;
+        }
+        int fields = kinds.length;
+        for (int i = 0; i < fields; i++) {
+            sb.append(literals[i]);
+            switch (kinds[i]) {
+                case VALUE:
+                    if (precisions[i] < 0) {
+                        SizeFormatter.appendScaled(sb, bytes, units[u]);
+                    } else {
+                        FixedPoint.append(sb, bytes, units[u], precisions[i]);
+                    }
+                    break;
+                case UNIT:
+                    sb.append(suffixes[u]);
+                    break;
+                default:
+                    sb.append(bytes);
+                    break;
+            }
+        }
+        sb.append(literals[fields]);
+    }
+
+    /**
+     * Formats every byte count into one packed {@link FormattedColumn}.
+     */
+    public FormattedColumn formatBatch(long[] bytes) {
+        if (bytes == null) {
+            throw new IllegalArgumentException("bytes must not be null");
+        }
+        FormattedColumn.Builder column = new FormattedColumn.Builder(bytes.length, bytes.length * (pattern.length() + 4));
+        StringBuilder sb = new StringBuilder(pattern.length() + 16);
+        for (long b : bytes) {
+            sb.setLength(0);
+            appendTo(sb, b);
+            column.append(sb).endEntry();
+        }
+        return column.build();
+    }
+
+    @Override
+    public String toString() {
+        return "SizeFormat[" + pattern + "]";
+    }
+}
@@ -1,5 +1,7 @@
 package io.parsetra.size;
 
+import io.parsetra.util.FixedPoint;
+import io.parsetra.util.FormattedColumn;
 import io.parsetra.util.Validation;
 
 /**
@@ -19,6 +21,16 @@ public final class SizeFormatter {
 
     private SizeFormatter() {}
 
+    /** A copy of the unit sizes, smallest first, that {@link #format} or {@link #formatBinary} chooses from. */
+    static long[] units(boolean binary) {
+        return (binary ? BINARY_UNITS : DECIMAL_UNITS).clone();
+    }
+
+    /** A copy of the suffixes matching {@link #units(boolean)}. */
+    static String[] suffixes(boolean binary) {
+        return (binary ? BINARY_SUFFIX : DECIMAL_SUFFIX).clone();
+    }
+
     /**
      * Format bytes using decimal units (1000-based), e.g. "1.5KB", "10MB".
      */
@@ -41,35 +53,122 @@ public final class SizeFormatter {
         return bytes + "B";
     }
 
-    private static String formatWithUnits(long bytes, long[] units, String[] suffixes) {
-        Validation.requireNonNegative(bytes, "bytes");
-        if (bytes == 0) {
-            return "0B";
+    /**
+     * Batch {@link #format(long)}: formats every value into one packed {@link FormattedColumn}
+     * instead of one String per value.
+     */
+    public static FormattedColumn formatBatch(long[] bytes) {
+        return formatBatch(bytes, DECIMAL_UNITS, DECIMAL_SUFFIX);
+    }
+
+    /**
+     * Batch {@link #formatBinary(long)} into one packed {@link FormattedColumn}.
+     */
+    public static FormattedColumn formatBinaryBatch(long[] bytes) {
+        return formatBatch(bytes, BINARY_UNITS, BINARY_SUFFIX);
+    }
+
+    private static FormattedColumn formatBatch(long[] bytes, long[] units, String[] suffixes) {
+        if (bytes == null) {
+            throw new IllegalArgumentException("bytes must not be null");
+        }
+        FormattedColumn.Builder column = new FormattedColumn.Builder(bytes.length, bytes.length * 6);
+        StringBuilder sb = new StringBuilder(24);
+        for (long b : bytes) {
+            sb.setLength(0);
+            appendWithUnits(sb, b, units, suffixes);
+            column.append(sb).endEntry();
+        }
+        return column.build();
+    }
+
+    /**
+     * Format a column of byte counts with one shared decimal unit and fixed precision, right-aligned,
+     * one value per line (each line ends with '\n'). The unit is the largest one not exceeding the maximum value.
+     */
+    public static String formatColumn(long[] bytes, int precision) {
+        StringBuilder sb = new StringBuilder(bytes.length * 12);
+        formatColumn(bytes, precision, DECIMAL_UNITS, DECIMAL_SUFFIX, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Same as {@link #formatColumn(long[], int)}, appending to the given buffer.
+     */
+    public static void formatColumn(long[] bytes, int precision, StringBuilder out) {
+        formatColumn(bytes, precision, DECIMAL_UNITS, DECIMAL_SUFFIX, out);
+    }
+
+    /**
+     * Format a column of byte counts with one shared binary unit (e.g. all "MiB"); see {@link #formatColumn(long[], int)}.
+     */
+    public static String formatColumnBinary(long[] bytes, int precision) {
+        StringBuilder sb = new StringBuilder(bytes.length * 12);
+        formatColumn(bytes, precision, BINARY_UNITS, BINARY_SUFFIX, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Same as {@link #formatColumnBinary(long[], int)}, appending to the given buffer.
+     */
+    public static void formatColumnBinary(long[] bytes, int precision, StringBuilder out) {
+        formatColumn(bytes, precision, BINARY_UNITS, BINARY_SUFFIX, out);
+    }
+
+    private static void formatColumn(long[] bytes, int precision, long[] units, String[] suffixes, StringBuilder out) {
+        if (bytes == null) {
+            throw new IllegalArgumentException("bytes must not be null");
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("out must not be null");
+        }
+        FixedPoint.requirePrecision(precision);
+        long max = 0;
+        for (long b : bytes) {
+            Validation.requireNonNegative(b, "bytes");
+            if (b > max) max = b;
         }
         int i = units.length - 1;
-        while (i > 0 && bytes < units[i]) {
+        while (i > 0 && max < units[i]) {
             i--;
         }
         long unit = units[i];
         String suffix = suffixes[i];
-        if (bytes % unit == 0) {
-            return (bytes / unit) + suffix;
+        // The widest number is the maximum; each row is written once, padding first.
+        int width = FixedPoint.length(max, unit, precision);
+        for (long b : bytes) {
+            FixedPoint.append(out, b, unit, precision, width);
+            out.append(suffix).append('\n');
         }
-        double value = (double) bytes / unit;
-        String num = formatOneDecimal(value);
-        return num + suffix;
     }
 
-    private static String formatOneDecimal(double value) {
-        if (value >= 100) {
-            return String.format("%.0f", value);
+    private static String formatWithUnits(long bytes, long[] units, String[] suffixes) {
+        StringBuilder sb = new StringBuilder(12);
+        appendWithUnits(sb, bytes, units, suffixes);
+        return sb.toString();
+    }
+
+    private static void appendWithUnits(StringBuilder sb, long bytes, long[] units, String[] suffixes) {
+        Validation.requireNonNegative(bytes, "bytes");
+        if (bytes == 0) {
+            sb.append("0B");
+            return;
         }
-        if (value >= 10) {
-            return String.format("%.1f", value);
+        int i = units.length - 1;
+        while (i > 0 && bytes < units[i]) {
+            i--;
         }
-        if (value >= 1) {
-            return String.format("%.1f", value);
+        appendScaled(sb, bytes, units[i]);
+        sb.append(suffixes[i]);
+    }
+
+    /** Appends {@code bytes / unit} as {@link #format(long)} does: exact if whole, else at most one decimal. */
+    static void appendScaled(StringBuilder sb, long bytes, long unit) {
+        if (bytes % unit == 0) {
+            sb.append(bytes / unit);
+        } else {
+            // One decimal below 100 units, none at or above; formatted without java.util.Formatter.
+            FixedPoint.append(sb, bytes, unit, bytes / unit >= 100 ? 0 : 1);
         }
-        return String.format("%.2f", value);
     }
 }
@@ -1,14 +1,15 @@
 package io.parsetra.size;
 
+import io.parsetra.parser.IncrementalParser;
+import io.parsetra.parser.ListParser;
 import io.parsetra.parser.NumericParser;
 import io.parsetra.parser.Token;
 import io.parsetra.parser.Tokenizer;
 import io.parsetra.parser.UnitMatcher;
-import io.parsetra.util.MathUtils;
+import io.parsetra.parser.UnitRegistry;
+import io.parsetra.parser.UnitTable;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Parses human-readable data size strings into byte counts.
@@ -19,25 +20,29 @@ public final class SizeParser {
     private static final long K = 1000L;
     private static final long KI = 1024L;
 
-    private static final Map<String, Long> UNIT_TO_BYTES = new HashMap<>();
-    static {
-        UNIT_TO_BYTES.put("b", 1L);
-        UNIT_TO_BYTES.put("byte", 1L);
-        UNIT_TO_BYTES.put("bytes", 1L);
-        UNIT_TO_BYTES.put("kb", K);
-        UNIT_TO_BYTES.put("mb", K * K);
-        UNIT_TO_BYTES.put("gb", K * K * K);
-        UNIT_TO_BYTES.put("tb", K * K * K * K);
-        UNIT_TO_BYTES.put("kib", KI);
-        UNIT_TO_BYTES.put("mib", KI * KI);
-        UNIT_TO_BYTES.put("gib", KI * KI * KI);
-        UNIT_TO_BYTES.put("tib", KI * KI * KI * KI);
-    }
-
     private static final String CONTEXT = "size";
 
+    private static final UnitRegistry UNITS = new UnitRegistry(new UnitTable(
+        new String[] { "b", "byte", "bytes", "kb", "mb", "gb", "tb", "kib", "mib", "gib", "tib" },
+        new long[] { 1L, 1L, 1L, K, K * K, K * K * K, K * K * K * K, KI, KI * KI, KI * KI * KI, KI * KI * KI * KI }), CONTEXT);
+
     private SizeParser() {}
 
+    /**
+     * The current unit names and their factors in bytes. The table is immutable; units registered later
+     * appear in a new table.
+     */
+    public static UnitTable units() {
+        return UNITS.table();
+    }
+
+    /**
+     * The registry behind {@link #units()}, for adding custom units and aliases at runtime.
+     */
+    public static UnitRegistry registry() {
+        return UNITS;
+    }
+
     /**
      * Parse with strict tokenization: single segment, no leading/trailing whitespace.
      */
@@ -54,6 +59,20 @@ public final class SizeParser {
         return parseSingleToken(tokens, false);
     }
 
+    /**
+     * Parses a delimited list into byte counts in a single pass (lenient rules per element).
+     */
+    public static long[] parseList(CharSequence text, char delimiter) {
+        return ListParser.parse(text, delimiter, UNITS.table(), false, CONTEXT);
+    }
+
+    /**
+     * New resumable parser that accepts input in pieces and reports the byte count of what it has seen (lenient rules).
+     */
+    public static IncrementalParser incrementalParser() {
+        return new IncrementalParser(UNITS.table(), false, CONTEXT);
+    }
+
     /**
      * Default parse (lenient).
      */
@@ -69,11 +88,10 @@ public final class SizeParser {
         double value = strictNumber
             ? NumericParser.parseDoubleStrict(t.getNumberPart(), CONTEXT)
             : NumericParser.parseDoubleLenient(t.getNumberPart(), CONTEXT);
-        long bytesPerUnit = UnitMatcher.match(t.getUnitPart(), UNIT_TO_BYTES, CONTEXT);
+        long bytesPerUnit = UnitMatcher.match(t.getUnitPart(), UNITS.table(), CONTEXT);
         if (value < 0) {
             throw new IllegalArgumentException("Negative size not allowed: " + value);
         }
-        double bytes = (double) bytesPerUnit * value;
-        return MathUtils.roundToLong(bytes, CONTEXT);
+        return NumericParser.multiplyRounded(t.getNumberPart(), bytesPerUnit, CONTEXT);
     }
 }
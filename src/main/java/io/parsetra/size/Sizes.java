@@ -1,5 +1,22 @@
 package io.parsetra.size;
 
+import io.parsetra.parser.BatchParser;
+import io.parsetra.parser.DelimitedSpliterator;
+import io.parsetra.parser.IncrementalParser;
+import io.parsetra.parser.TokenCursor;
+import io.parsetra.util.FormattedColumn;
+import io.parsetra.util.MathUtils;
+import io.parsetra.util.SortKeys;
+import io.parsetra.util.UnparseablePolicy;
+
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collector;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
 /**
  * Facade for parsing and formatting human-readable data sizes.
  * <p>
@@ -11,6 +28,9 @@ package io.parsetra.size;
  * String s = Sizes.format(1536);        // "1.5KB"
  * String s = Sizes.formatBinary(1536);   // "1.5KiB"
  * String s = Sizes.formatBytes(1536);    // "1536B"
+ * long total = lines.parallelStream().collect(Sizes.summingBytes());
+ * long total = Sizes.stream("10MB,2GiB,512KB", ',').parallel().sum();
+ * Sizes.sort(listing);                   // "512KB", "10MB", "2GiB": one parse per element
  * </pre>
  */
 public final class Sizes {
@@ -38,6 +58,15 @@ public final class Sizes {
         return SizeParser.parseLenient(input);
     }
 
+    /**
+     * Parse a delimited list (e.g. "1GB, 10GB, 100GB") into byte counts in a single pass.
+     * Whitespace around elements is ignored; a trailing delimiter is allowed. Throws IllegalArgumentException
+     * naming the first invalid element.
+     */
+    public static long[] parseList(CharSequence text, char delimiter) {
+        return SizeParser.parseList(text, delimiter);
+    }
+
     /**
      * Format byte count using decimal units (e.g. "1.5KB").
      */
@@ -58,4 +87,169 @@ public final class Sizes {
     public static String formatBytes(long bytes) {
         return SizeFormatter.formatBytes(bytes);
     }
+
+    /**
+     * Batch {@link #format(long)} into one packed column (shared char buffer, no per-value String).
+     */
+    public static FormattedColumn formatBatch(long[] bytes) {
+        return SizeFormatter.formatBatch(bytes);
+    }
+
+    /**
+     * Batch {@link #formatBinary(long)} into one packed column.
+     */
+    public static FormattedColumn formatBinaryBatch(long[] bytes) {
+        return SizeFormatter.formatBinaryBatch(bytes);
+    }
+
+    /**
+     * Format a column with one shared decimal unit and fixed precision, right-aligned, one value per line.
+     */
+    public static String formatColumn(long[] bytes, int precision) {
+        return SizeFormatter.formatColumn(bytes, precision);
+    }
+
+    /**
+     * Format a column with one shared decimal unit, appending to a shared buffer.
+     */
+    public static void formatColumn(long[] bytes, int precision, StringBuilder out) {
+        SizeFormatter.formatColumn(bytes, precision, out);
+    }
+
+    /**
+     * Format a column with one shared binary unit and fixed precision, right-aligned, one value per line.
+     */
+    public static String formatColumnBinary(long[] bytes, int precision) {
+        return SizeFormatter.formatColumnBinary(bytes, precision);
+    }
+
+    /**
+     * Format a column with one shared binary unit, appending to a shared buffer.
+     */
+    public static void formatColumnBinary(long[] bytes, int precision, StringBuilder out) {
+        SizeFormatter.formatColumnBinary(bytes, precision, out);
+    }
+
+    /**
+     * Collector that parses each element (lenient) and sums the byte counts.
+     * Partial sums are kept in a primitive accumulator; throws IllegalArgumentException on overflow.
+     */
+    public static Collector<CharSequence, ?, Long> summingBytes() {
+        return Collector.of(
+            () -> new long[1],
+            (acc, s) -> acc[0] = MathUtils.addExactOrThrow(acc[0], SizeParser.parse(s.toString()), "size sum"),
+            (a, b) -> {
+                a[0] = MathUtils.addExactOrThrow(a[0], b[0], "size sum");
+                return a;
+            },
+            acc -> acc[0],
+            Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Spliterator over the byte counts of a delimited text (e.g. "10MB,2GiB"). Each segment is parsed leniently.
+     */
+    public static Spliterator.OfLong spliterator(CharSequence text, char delimiter) {
+        return new DelimitedSpliterator(text, delimiter, SizeParser::parse);
+    }
+
+    /**
+     * Sequential stream of the byte counts of a delimited text; call {@code parallel()} to split it.
+     */
+    public static LongStream stream(CharSequence text, char delimiter) {
+        return StreamSupport.longStream(spliterator(text, delimiter), false);
+    }
+
+    /**
+     * Adds a custom size unit for all later parses, e.g. {@code registerUnit("PB", 1_000_000_000_000_000L)} or
+     * {@code registerUnit("blocks", 512)}. Matched case-insensitively; the name must be letters only.
+     * Lookups stay lock-free: the unit table is rebuilt and published atomically. Cursors and incremental
+     * parsers created earlier keep the units they started with. Throws IllegalArgumentException if the name
+     * is already registered with a different factor.
+     */
+    public static void registerUnit(String name, long bytes) {
+        SizeParser.registry().register(name, bytes);
+    }
+
+    /**
+     * Adds {@code alias} for an existing unit, e.g. {@code registerAlias("kilobytes", "kb")}.
+     */
+    public static void registerAlias(String alias, String unit) {
+        SizeParser.registry().alias(alias, unit);
+    }
+
+    /**
+     * New resumable parser for a value that arrives in pieces ({@code feed(char)}, text or UTF-8 {@code ByteBuffer}
+     * chunks); reports EMPTY, INCOMPLETE, COMPLETE or INVALID after each piece and the byte count once complete.
+     */
+    public static IncrementalParser incrementalParser() {
+        return SizeParser.incrementalParser();
+    }
+
+    /**
+     * New reusable cursor over number+unit segments whose values are byte counts, for parsing in place
+     * inside larger expressions.
+     */
+    public static TokenCursor cursor() {
+        return new TokenCursor(SizeParser.units());
+    }
+
+    /**
+     * Backpressured processor from delimited text chunks to batches of byte counts (lenient), e.g. for a reactive
+     * pipeline reading newline-separated values. Unparseable elements are reported per batch.
+     */
+    public static BatchParser<CharSequence> batchParser(char delimiter, int batchSize) {
+        return BatchParser.ofText(SizeParser::parse, delimiter, batchSize);
+    }
+
+    /**
+     * Like {@link #batchParser(char, int)} for UTF-8 byte chunks.
+     */
+    public static BatchParser<ByteBuffer> byteBatchParser(char delimiter, int batchSize) {
+        return BatchParser.ofBytes(SizeParser::parse, delimiter, batchSize);
+    }
+
+    /**
+     * Parses each element (lenient) once into its byte counts, for sorting or comparing by key.
+     * Throws IllegalArgumentException naming the first unparseable index.
+     */
+    public static long[] sortKeys(List<? extends CharSequence> values) {
+        return SortKeys.keys(values, SizeParser::parse);
+    }
+
+    /**
+     * Indices of the elements in ascending bytes order (stable), parsing each element once.
+     */
+    public static int[] sortOrder(List<? extends CharSequence> values, UnparseablePolicy policy) {
+        return SortKeys.order(values, SizeParser::parse, policy);
+    }
+
+    /**
+     * Sorts the list in place by parsed bytes (stable). Throws IllegalArgumentException if an element is unparseable.
+     */
+    public static <T extends CharSequence> void sort(List<T> values) {
+        SortKeys.sort(values, SizeParser::parse, UnparseablePolicy.FAIL);
+    }
+
+    /**
+     * Sorts the list in place by parsed bytes (stable), placing unparseable elements per policy.
+     */
+    public static <T extends CharSequence> void sort(List<T> values, UnparseablePolicy policy) {
+        SortKeys.sort(values, SizeParser::parse, policy);
+    }
+
+    /**
+     * Comparator by parsed bytes; throws IllegalArgumentException on unparseable input. Parses both sides on
+     * every call, so prefer {@link #sort(List)} for whole collections.
+     */
+    public static Comparator<CharSequence> comparator() {
+        return SortKeys.comparator(SizeParser::parse, UnparseablePolicy.FAIL);
+    }
+
+    /**
+     * Comparator by parsed bytes, ordering unparseable elements per policy.
+     */
+    public static Comparator<CharSequence> comparator(UnparseablePolicy policy) {
+        return SortKeys.comparator(SizeParser::parse, policy);
+    }
 }
@@ -0,0 +1,107 @@
+package io.parsetra.util;
+
+/**
+ * Fixed-precision decimal formatting of {@code value / unit} using long arithmetic only
+ * (no {@code String.format}, no {@code double}). Rounds half up. Thread-safe.
+ */
+public final class FixedPoint {
+
+    /** Largest supported number of fraction digits. */
+    public static final int MAX_PRECISION = 9;
+
+    private static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L };
+
+    private FixedPoint() {}
+
+    /**
+     * Throws IllegalArgumentException if precision is outside 0..{@link #MAX_PRECISION}.
+     */
+    public static int requirePrecision(int precision) {
+        if (precision < 0 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("precision must be between 0 and " + MAX_PRECISION + ": " + precision);
+        }
+        return precision;
+    }
+
+    /**
+     * Appends {@code value / unit} with exactly {@code precision} fraction digits (e.g. 1536, 1000, 2 -&gt; "1.54").
+     * Unit must be positive.
+     */
+    public static void append(StringBuilder sb, long value, long unit, int precision) {
+        append(sb, value, unit, precision, 0);
+    }
+
+    /**
+     * Same as {@link #append(StringBuilder, long, long, int)}, right-aligned: spaces go in front so the
+     * appended text is at least {@code width} wide. Nothing is inserted after the fact.
+     */
+    public static void append(StringBuilder sb, long value, long unit, int precision, int width) {
+        long q = value / unit;
+        long frac = roundedFraction(value, unit, precision);
+        if (frac == POWERS_OF_TEN[precision]) {
+            frac = 0;
+            q = value < 0 ? q - 1 : q + 1;
+        }
+        boolean minusZero = value < 0 && q == 0;
+        int length = (minusZero ? 1 : 0) + length(q) + (precision > 0 ? precision + 1 : 0);
+        for (int k = length; k < width; k++) {
+            sb.append(' ');
+        }
+        if (minusZero) {
+            sb.append('-');
+        }
+        sb.append(q);
+        if (precision > 0) {
+            sb.append('.');
+            appendPadded(sb, frac, precision);
+        }
+    }
+
+    /**
+     * Number of characters {@link #append(StringBuilder, long, long, int)} writes for these arguments.
+     */
+    public static int length(long value, long unit, int precision) {
+        long q = value / unit;
+        if (roundedFraction(value, unit, precision) == POWERS_OF_TEN[precision]) {
+            q = value < 0 ? q - 1 : q + 1;
+        }
+        return (value < 0 && q == 0 ? 1 : 0) + length(q) + (precision > 0 ? precision + 1 : 0);
+    }
+
+    /** The fraction digits of {@code |value % unit| / unit}, rounded half up; 10^precision means carry one. */
+    private static long roundedFraction(long value, long unit, int precision) {
+        long r = Math.abs(value % unit);
+        long frac = 0;
+        for (int k = 0; k < precision; k++) {
+            r *= 10;
+            frac = frac * 10 + r / unit;
+            r %= unit;
+        }
+        // Half up: compare 2r with unit without overflowing (r < unit).
+        return r >= unit - r ? frac + 1 : frac;
+    }
+
+    /** Characters in the decimal form of {@code v}, including a '-'. */
+    private static int length(long v) {
+        int digits = v < 0 ? 2 : 1;
+        for (; v >= 10 || v <= -10; v /= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * Appends a non-negative value with leading zeros up to {@code width} digits (e.g. 7, 2 -&gt; "07").
+     */
+    public static void appendPadded(StringBuilder sb, long value, int width) {
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        for (int k = digits; k < width; k++) {
+            sb.append('0');
+        }
+        sb.append(value);
+    }
+}
@@ -0,0 +1,57 @@
+package io.parsetra.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a format template such as {@code "{hh}:{mm} ({v:.2})"} into literal text and {@code {field}}
+ * placeholders. {@code {{} and {@code }}} stand for literal braces. Used once when a template is compiled,
+ * never while formatting. Thread-safe.
+ */
+public final class FormatPattern {
+
+    private FormatPattern() {}
+
+    /**
+     * Returns literal, field, literal, ..., literal (always an odd number of entries; literals may be empty,
+     * fields are the text between the braces). Throws IllegalArgumentException on unbalanced braces or an
+     * empty field.
+     */
+    public static List<String> split(String pattern) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("pattern must not be null");
+        }
+        List<String> parts = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int n = pattern.length();
+        for (int i = 0; i < n; i++) {
+            char c = pattern.charAt(i);
+            if (c == '{' && i + 1 < n && pattern.charAt(i + 1) == '{') {
+                literal.append('{');
+                i++;
+            } else if (c == '}' && i + 1 < n && pattern.charAt(i + 1) == '}') {
+                literal.append('}');
+                i++;
+            } else if (c == '{') {
+                int close = pattern.indexOf('}', i + 1);
+                int nested = pattern.indexOf('{', i + 1);
+                if (close < 0 || (nested >= 0 && nested < close)) {
+                    throw new IllegalArgumentException("Unclosed '{' at index " + i + " in pattern: '" + pattern + "'");
+                }
+                if (close == i + 1) {
+                    throw new IllegalArgumentException("Empty field at index " + i + " in pattern: '" + pattern + "'");
+                }
+                parts.add(literal.toString());
+                parts.add(pattern.substring(i + 1, close));
+                literal.setLength(0);
+                i = close;
+            } else if (c == '}') {
+                throw new IllegalArgumentException("Unmatched '}' at index " + i + " in pattern: '" + pattern + "'");
+            } else {
+                literal.append(c);
+            }
+        }
+        parts.add(literal.toString());
+        return parts;
+    }
+}
@@ -0,0 +1,200 @@
+package io.parsetra.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Many short formatted strings packed into one shared {@code char[]} with an {@code int[]} offset index,
+ * so formatting millions of values allocates two arrays instead of millions of Strings.
+ * Entries are exposed as {@link CharSequence} views or copied straight to a {@link Writer}.
+ * Immutable once built. Thread-safe.
+ */
+public final class FormattedColumn {
+
+    private final char[] chars;
+    private final int[] offsets;
+    private final int size;
+
+    private FormattedColumn(char[] chars, int[] offsets, int size) {
+        this.chars = chars;
+        this.offsets = offsets;
+        this.size = size;
+    }
+
+    /**
+     * Number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Length of the entry at the given index.
+     */
+    public int length(int index) {
+        checkIndex(index);
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * Returns a view of the entry; no characters are copied.
+     */
+    public CharSequence get(int index) {
+        checkIndex(index);
+        return new Entry(chars, offsets[index], offsets[index + 1]);
+    }
+
+    /**
+     * Appends the entry to the builder.
+     */
+    public void appendTo(int index, StringBuilder sb) {
+        checkIndex(index);
+        sb.append(chars, offsets[index], offsets[index + 1] - offsets[index]);
+    }
+
+    /**
+     * Writes the entry to the writer without creating a String.
+     */
+    public void writeTo(int index, Writer writer) throws IOException {
+        checkIndex(index);
+        writer.write(chars, offsets[index], offsets[index + 1] - offsets[index]);
+    }
+
+    /**
+     * Writes all entries, each followed by the separator (e.g. '\n' for one value per line).
+     */
+    public void writeTo(Writer writer, char separator) throws IOException {
+        for (int i = 0; i < size; i++) {
+            writer.write(chars, offsets[i], offsets[i + 1] - offsets[i]);
+            writer.write(separator);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+    }
+
+    /**
+     * Accumulates entries into growing shared arrays. Not thread-safe; do not reuse after {@link #build()}.
+     */
+    public static final class Builder {
+        private char[] chars;
+        private int[] offsets;
+        private int length;
+        private int size;
+
+        /**
+         * Creates a builder sized for the expected number of entries and total characters.
+         */
+        public Builder(int expectedEntries, int expectedChars) {
+            this.chars = new char[Math.max(16, expectedChars)];
+            this.offsets = new int[Math.max(1, expectedEntries) + 1];
+        }
+
+        /**
+         * Appends characters to the current entry.
+         */
+        public Builder append(CharSequence cs) {
+            int n = cs.length();
+            ensureChars(n);
+            if (cs instanceof StringBuilder) {
+                ((StringBuilder) cs).getChars(0, n, chars, length);
+            } else if (cs instanceof String) {
+                ((String) cs).getChars(0, n, chars, length);
+            } else {
+                for (int i = 0; i < n; i++) {
+                    chars[length + i] = cs.charAt(i);
+                }
+            }
+            length += n;
+            return this;
+        }
+
+        /**
+         * Appends one character to the current entry.
+         */
+        public Builder append(char c) {
+            ensureChars(1);
+            chars[length++] = c;
+            return this;
+        }
+
+        /**
+         * Ends the current entry; following appends start the next one.
+         */
+        public Builder endEntry() {
+            if (size + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[++size] = length;
+            return this;
+        }
+
+        /**
+         * Returns the column. The arrays are shared with the result unless more than an eighth of either is
+         * unused (a growth step doubles it), in which case it is trimmed so the column keeps no slack.
+         */
+        public FormattedColumn build() {
+            FormattedColumn column = new FormattedColumn(trim(chars, length), trim(offsets, size + 1), size);
+            chars = null;
+            offsets = null;
+            return column;
+        }
+
+        private static char[] trim(char[] array, int used) {
+            return array.length - used > array.length / 8 ? Arrays.copyOf(array, used) : array;
+        }
+
+        private static int[] trim(int[] array, int used) {
+            return array.length - used > array.length / 8 ? Arrays.copyOf(array, used) : array;
+        }
+
+        private void ensureChars(int n) {
+            if (length + n > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + n));
+            }
+        }
+    }
+
+    /** Read-only view of one entry. */
+    private static final class Entry implements CharSequence {
+        private final char[] chars;
+        private final int start;
+        private final int end;
+
+        Entry(char[] chars, int start, int end) {
+            this.chars = chars;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException("index " + index + ", length " + (end - start));
+            }
+            return chars[start + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            if (from < 0 || to > end - start || from > to) {
+                throw new IndexOutOfBoundsException("range [" + from + ", " + to + "), length " + (end - start));
+            }
+            return new Entry(chars, start + from, start + to);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, start, end - start);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package io.parsetra.util;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.ToLongFunction;
+
+/**
+ * Sorting by parsed primitive keys. Each element is parsed once into a {@code long}; indices are then
+ * ordered with a stable LSD radix sort (byte digits, skipping digits that are equal across all keys),
+ * so sorting n strings costs n parses instead of O(n log n). Thread-safe.
+ */
+public final class SortKeys {
+
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int DIGITS = Long.SIZE / RADIX_BITS;
+    /** Below this, insertion sort beats clearing and scanning the histograms. */
+    private static final int INSERTION_THRESHOLD = 32;
+
+    private SortKeys() {}
+
+    /**
+     * Parses every element once into its key. Throws IllegalArgumentException naming the index of the
+     * first element that cannot be parsed.
+     */
+    public static long[] keys(List<? extends CharSequence> values, ToLongFunction<String> parser) {
+        long[] keys = new long[values.size()];
+        int i = 0;
+        for (CharSequence value : values) {
+            try {
+                keys[i] = parse(value, parser);
+            } catch (IllegalArgumentException e) {
+                throw unparseable(i, e);
+            }
+            i++;
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the indices of {@code keys} in ascending key order; equal keys keep their original order.
+     */
+    public static int[] order(long[] keys) {
+        int[] idx = new int[keys.length];
+        for (int i = 0; i < idx.length; i++) {
+            idx[i] = i;
+        }
+        sortIndices(keys, idx, 0, idx.length);
+        return idx;
+    }
+
+    /**
+     * Parses every element once and returns the indices in ascending order of the parsed values (stable).
+     * Elements for which the parser throws IllegalArgumentException, including null, are handled per policy.
+     */
+    public static int[] order(List<? extends CharSequence> values, ToLongFunction<String> parser,
+                              UnparseablePolicy policy) {
+        int n = values.size();
+        long[] keys = new long[n];
+        int[] valid = new int[n];
+        int[] invalid = null;
+        int validCount = 0;
+        int invalidCount = 0;
+        int i = 0;
+        for (CharSequence value : values) {
+            try {
+                keys[validCount] = parse(value, parser);
+                valid[validCount++] = i;
+            } catch (IllegalArgumentException e) {
+                if (policy == UnparseablePolicy.FAIL) {
+                    throw unparseable(i, e);
+                }
+                if (invalid == null) {
+                    invalid = new int[n - i];
+                }
+                invalid[invalidCount++] = i;
+            }
+            i++;
+        }
+        // Keys are compacted to the valid elements: sort positions 0..validCount, then map back.
+        int[] pos = new int[validCount];
+        for (int k = 0; k < validCount; k++) {
+            pos[k] = k;
+        }
+        sortIndices(keys, pos, 0, validCount);
+        int[] result = new int[n];
+        int offset = policy == UnparseablePolicy.FIRST ? invalidCount : 0;
+        for (int k = 0; k < validCount; k++) {
+            result[offset + k] = valid[pos[k]];
+        }
+        if (invalidCount > 0) {
+            System.arraycopy(invalid, 0, result, policy == UnparseablePolicy.FIRST ? 0 : validCount, invalidCount);
+        }
+        return result;
+    }
+
+    /**
+     * Sorts the list in place by parsed value (stable), parsing each element once.
+     */
+    public static <T extends CharSequence> void sort(List<T> values, ToLongFunction<String> parser,
+                                                     UnparseablePolicy policy) {
+        int[] order = order(values, parser, policy);
+        Object[] snapshot = values.toArray();
+        ListIterator<T> it = values.listIterator();
+        for (int index : order) {
+            it.next();
+            @SuppressWarnings("unchecked")
+            T element = (T) snapshot[index];
+            it.set(element);
+        }
+    }
+
+    /**
+     * Comparator that parses both sides on every call. Prefer {@link #order} or {@link #sort} for
+     * sorting whole collections; this is for APIs that only accept a comparator.
+     */
+    public static Comparator<CharSequence> comparator(ToLongFunction<String> parser, UnparseablePolicy policy) {
+        return (a, b) -> {
+            boolean aValid = true;
+            boolean bValid = true;
+            long ka = 0;
+            long kb = 0;
+            try {
+                ka = parse(a, parser);
+            } catch (IllegalArgumentException e) {
+                if (policy == UnparseablePolicy.FAIL) {
+                    throw e;
+                }
+                aValid = false;
+            }
+            try {
+                kb = parse(b, parser);
+            } catch (IllegalArgumentException e) {
+                if (policy == UnparseablePolicy.FAIL) {
+                    throw e;
+                }
+                bValid = false;
+            }
+            if (aValid && bValid) {
+                return Long.compare(ka, kb);
+            }
+            if (aValid == bValid) {
+                return 0;
+            }
+            // Exactly one is invalid: it goes first under FIRST, last under LAST.
+            return aValid == (policy == UnparseablePolicy.FIRST) ? 1 : -1;
+        };
+    }
+
+    private static long parse(CharSequence value, ToLongFunction<String> parser) {
+        if (value == null) {
+            throw new IllegalArgumentException("value must not be null");
+        }
+        return parser.applyAsLong(value.toString());
+    }
+
+    private static IllegalArgumentException unparseable(int index, IllegalArgumentException cause) {
+        return new IllegalArgumentException("Unparseable element at index " + index + ": " + cause.getMessage(), cause);
+    }
+
+    /** Stable sort of {@code idx[from, to)} by {@code keys[idx[i]]}. */
+    private static void sortIndices(long[] keys, int[] idx, int from, int to) {
+        int n = to - from;
+        if (n < INSERTION_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int v = idx[i];
+                long k = keys[v];
+                int j = i - 1;
+                while (j >= from && keys[idx[j]] > k) {
+                    idx[j + 1] = idx[j];
+                    j--;
+                }
+                idx[j + 1] = v;
+            }
+            return;
+        }
+        // One pass builds all digit histograms; the sign bit is flipped so negatives order first.
+        int[][] counts = new int[DIGITS][RADIX];
+        for (int i = from; i < to; i++) {
+            long k = keys[idx[i]] ^ Long.MIN_VALUE;
+            for (int d = 0; d < DIGITS; d++) {
+                counts[d][(int) (k >>> (d * RADIX_BITS)) & (RADIX - 1)]++;
+            }
+        }
+        int[] src = idx;
+        int[] dst = new int[idx.length];
+        long[] cache = new long[idx.length];
+        for (int i = from; i < to; i++) {
+            cache[i] = keys[idx[i]] ^ Long.MIN_VALUE;
+        }
+        long[] cacheDst = new long[idx.length];
+        for (int d = 0; d < DIGITS; d++) {
+            int[] count = counts[d];
+            int shift = d * RADIX_BITS;
+            if (count[(int) (cache[from] >>> shift) & (RADIX - 1)] == n) {
+                continue; // every key has this digit
+            }
+            int sum = from;
+            for (int b = 0; b < RADIX; b++) {
+                int c = count[b];
+                count[b] = sum;
+                sum += c;
+            }
+            for (int i = from; i < to; i++) {
+                long k = cache[i];
+                int p = count[(int) (k >>> shift) & (RADIX - 1)]++;
+                dst[p] = src[i];
+                cacheDst[p] = k;
+            }
+            int[] t = src;
+            src = dst;
+            dst = t;
+            long[] tk = cache;
+            cache = cacheDst;
+            cacheDst = tk;
+        }
+        if (src != idx) {
+            System.arraycopy(src, from, idx, from, n);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package io.parsetra.util;
+
+/**
+ * How sorting and comparison treat elements that cannot be parsed.
+ */
+public enum UnparseablePolicy {
+    /** Throw IllegalArgumentException for the first unparseable element. */
+    FAIL,
+    /** Order unparseable elements before all others, keeping their original relative order. */
+    FIRST,
+    /** Order unparseable elements after all others, keeping their original relative order. */
+    LAST
+}
@@ -1,4 +1,5 @@
 /**
- * Shared utilities: validation and safe arithmetic.
+ * Shared utilities: validation, safe arithmetic, fixed-point formatting, format template splitting,
+ * packed formatted columns, and sorting by parsed keys.
  */
 package io.parsetra.util;
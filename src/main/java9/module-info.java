@@ -0,0 +1,11 @@
+/**
+ * ParseTra: human-readable duration and data size parsing and formatting.
+ * Compiled only on JDK 9+ into META-INF/versions/9; Java 8 consumers use the plain classpath jar.
+ */
+module io.parsetra {
+    exports io.parsetra.duration;
+    exports io.parsetra.size;
+    exports io.parsetra.extract;
+    exports io.parsetra.parser;
+    exports io.parsetra.util;
+}
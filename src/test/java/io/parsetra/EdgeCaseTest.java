@@ -86,4 +86,14 @@ class EdgeCaseTest {
         assertThrows(IllegalArgumentException.class, () ->
             Sizes.parse("999999999999999TB"));
     }
+
+    @Test
+    void largeIntegersParseExactly() {
+        // Beyond 2^53, where multiplying through double used to drop low digits.
+        assertEquals(9_007_199_254_740_993L, Sizes.parse("9007199254740993B"));
+        assertEquals(663_441_495_574_438_158L, Sizes.parse(Sizes.formatBytes(663_441_495_574_438_158L)));
+        assertEquals(Duration.ofMillis(8_796_093_022_207L), Durations.parse("8796093022207ms"));
+        assertEquals(2L, Sizes.parse("1.5B"));
+        assertThrows(IllegalArgumentException.class, () -> Sizes.parse("9223372036854775808B"));
+    }
 }
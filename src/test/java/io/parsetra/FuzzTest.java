@@ -0,0 +1,707 @@
+package io.parsetra;
+
+import io.parsetra.duration.DurationFormat;
+import io.parsetra.duration.DurationFormatter;
+import io.parsetra.duration.DurationParser;
+import io.parsetra.duration.Durations;
+import io.parsetra.extract.Extractor;
+import io.parsetra.size.SizeFormat;
+import io.parsetra.size.SizeFormatter;
+import io.parsetra.size.SizeParser;
+import io.parsetra.size.Sizes;
+import io.parsetra.parser.IncrementalParser;
+import io.parsetra.parser.TokenCursor;
+import io.parsetra.util.FormattedColumn;
+import io.parsetra.util.UnparseablePolicy;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Seeded differential fuzzing: every parser path is compared against a small regex-based reference model,
+ * and formatters are checked by format-then-parse round trips.
+ * <p>
+ * Scale with {@code -Dparsetra.fuzz.iterations=1000000}; reproduce a failure with {@code -Dparsetra.fuzz.seed=...}.
+ */
+class FuzzTest {
+
+    private static final int ITERATIONS = Integer.getInteger("parsetra.fuzz.iterations", 20_000);
+    private static final long SEED = Long.getLong("parsetra.fuzz.seed", 0x5EED_2024L);
+
+    private static final String[] DURATION_UNITS = {
+        "ns", "us", "\u00b5s", "\u03bcs", "ms", "s", "m", "min", "mins", "minute", "minutes", "h", "hr", "hrs", "hour", "hours", "d", "day", "days"
+    };
+    private static final String[] SIZE_UNITS = {
+        "b", "byte", "bytes", "kb", "mb", "gb", "tb", "kib", "mib", "gib", "tib"
+    };
+    private static final String NOISE = "0123456789..+- \tmshdMSHDkKgGbBiIt,xµ";
+
+    // --- Parsers vs. reference model ---
+
+    @Test
+    void durationParsersMatchReference() {
+        Random rnd = new Random(SEED);
+        for (int n = 0; n < ITERATIONS; n++) {
+            String input = nextInput(rnd, DURATION_UNITS, 3);
+            Long lenient = Reference.duration(input, false);
+            Long strict = Reference.duration(input, true);
+            assertMatches(input, lenient, () -> DurationParser.parseLenient(input).toNanos());
+            assertMatches(input, lenient, () -> Durations.parse(input).toNanos());
+            assertMatches(input, lenient, () -> Durations.parseNanos(input));
+            assertMatches(input, strict, () -> DurationParser.parseStrict(input).toNanos());
+        }
+    }
+
+    @Test
+    void parseAnyMatchesDurationParseOnIso() {
+        Random rnd = new Random(SEED + 8);
+        for (int n = 0; n < ITERATIONS; n++) {
+            String iso = rnd.nextInt(3) == 0 ? mutate(rnd, isoInput(rnd)) : isoInput(rnd);
+            if (iso.trim().endsWith("t")) {
+                continue; // Duration.parse quirk: rejects an empty trailing "T" but accepts "t"; parseAny rejects both
+            }
+            Long expected;
+            try {
+                expected = Duration.parse(iso.trim()).toNanos();
+            } catch (DateTimeParseException | ArithmeticException e) {
+                expected = null;
+            }
+            String body = iso.trim().replaceFirst("^[-+]", "");
+            if (expected == null && !body.startsWith("P") && !body.startsWith("p")) {
+                continue; // mutated out of ISO syntax; covered by parseAnyMatchesParseOnParsetraSyntax
+            }
+            assertMatches(iso, expected, () -> Durations.parseAny(iso).toNanos());
+        }
+    }
+
+    @Test
+    void parseAnyMatchesParseOnParsetraSyntax() {
+        Random rnd = new Random(SEED + 9);
+        for (int n = 0; n < ITERATIONS; n++) {
+            String input = nextInput(rnd, DURATION_UNITS, 3);
+            Long expected = Reference.duration(input, false);
+            if (expected != null && !input.trim().startsWith("-")) {
+                assertMatches(input, expected, () -> Durations.parseAny(input).toNanos());
+                // Go-style leading sign negates the whole duration.
+                String negated = "-" + input.trim();
+                assertMatches(negated, -expected, () -> Durations.parseAny(negated).toNanos());
+            }
+        }
+        assertEquals(Duration.ofNanos(1500), Durations.parseAny("1.5\u00b5s"));
+        assertEquals(Duration.ZERO, Durations.parseAny("0"));
+    }
+
+    @Test
+    void sizeParsersMatchReference() {
+        Random rnd = new Random(SEED + 1);
+        for (int n = 0; n < ITERATIONS; n++) {
+            String input = nextInput(rnd, SIZE_UNITS, 1);
+            Long lenient = Reference.size(input, false);
+            Long strict = Reference.size(input, true);
+            assertMatches(input, lenient, () -> SizeParser.parseLenient(input));
+            assertMatches(input, lenient, () -> Sizes.parse(input));
+            assertMatches(input, strict, () -> SizeParser.parseStrict(input));
+        }
+    }
+
+    @Test
+    void delimitedPathsMatchReference() {
+        Random rnd = new Random(SEED + 2);
+        for (int n = 0; n < ITERATIONS / 10; n++) {
+            int count = 1 + rnd.nextInt(40);
+            String[] sizes = new String[count];
+            String[] durations = new String[count];
+            for (int k = 0; k < count; k++) {
+                sizes[k] = validInput(rnd, SIZE_UNITS, 1);
+                durations[k] = validInput(rnd, DURATION_UNITS, 3);
+            }
+            String sizeText = String.join(",", sizes);
+            String durationText = String.join(";", durations);
+            Long[] sizeRef = referenceAll(sizes, s -> Reference.size(s, false));
+            Long[] durationRef = referenceAll(durations, s -> Reference.duration(s, false));
+            assertMatches(sizeText, sum(sizeRef), () -> Sizes.stream(sizeText, ',').parallel().reduce(0L, Math::addExact));
+            assertMatches(sizeText, sum(sizeRef), () -> Arrays.<CharSequence>asList(sizes).parallelStream().collect(Sizes.summingBytes()));
+            assertMatches(durationText, sum(durationRef), () -> Durations.streamNanos(durationText, ';').parallel().reduce(0L, Math::addExact));
+            assertMatches(durationText, sum(durationRef), () -> Arrays.<CharSequence>asList(durations).stream().collect(Durations.summingNanos()));
+        }
+    }
+
+    @Test
+    void parseListMatchesReference() {
+        Random rnd = new Random(SEED + 10);
+        for (int n = 0; n < ITERATIONS / 10; n++) {
+            int count = 1 + rnd.nextInt(20);
+            String[] sizes = new String[count];
+            String[] durations = new String[count];
+            for (int k = 0; k < count; k++) {
+                String size = validInput(rnd, SIZE_UNITS, 1);
+                String duration = validInput(rnd, DURATION_UNITS, 3);
+                sizes[k] = (rnd.nextInt(8) == 0 ? mutate(rnd, size) : size).replace(",", "");
+                durations[k] = rnd.nextInt(8) == 0 ? mutate(rnd, duration) : duration;
+            }
+            assertListMatches(sizes, ',', s -> Reference.size(s, false), Sizes::parseList);
+            assertListMatches(durations, ';', s -> Reference.duration(s, false), Durations::parseNanosList);
+        }
+    }
+
+    private static void assertListMatches(String[] elements, char delimiter, Function<String, Long> reference,
+                                          BiFunction<CharSequence, Character, long[]> parser) {
+        String text = String.join(String.valueOf(delimiter), elements);
+        if (elements[elements.length - 1].trim().isEmpty()) {
+            return; // reads as a trailing delimiter, not as a blank element
+        }
+        Long[] expected = referenceAll(elements, reference);
+        if (Arrays.asList(expected).contains(null)) {
+            assertThrows(IllegalArgumentException.class, () -> parser.apply(text, delimiter), text);
+        } else {
+            long[] values = new long[expected.length];
+            for (int k = 0; k < values.length; k++) {
+                values[k] = expected[k];
+            }
+            assertArrayEquals(values, parser.apply(text, delimiter), text);
+        }
+    }
+
+    @Test
+    void incrementalParserMatchesReferenceUnderRandomChunking() {
+        Random rnd = new Random(SEED + 11);
+        IncrementalParser sizes = Sizes.incrementalParser();
+        IncrementalParser durations = Durations.incrementalNanosParser();
+        for (int n = 0; n < ITERATIONS; n++) {
+            String size = nextInput(rnd, SIZE_UNITS, 1);
+            assertIncremental(size, Reference.size(size, false), sizes.reset(), rnd);
+            String duration = nextInput(rnd, DURATION_UNITS, 3);
+            assertIncremental(duration, Reference.duration(duration, false), durations.reset(), rnd);
+        }
+    }
+
+    /** Feeds the input in random pieces, as chars or as UTF-8 bytes, and compares with the reference. */
+    private static void assertIncremental(String input, Long expected, IncrementalParser parser, Random rnd) {
+        boolean invalidSeen = false;
+        if (rnd.nextBoolean()) {
+            for (int i = 0; i < input.length(); ) {
+                int end = Math.min(input.length(), i + 1 + rnd.nextInt(4));
+                invalidSeen |= (end - i == 1 ? parser.feed(input.charAt(i)) : parser.feed(input.subSequence(i, end)))
+                    == IncrementalParser.State.INVALID;
+                i = end;
+            }
+        } else {
+            byte[] utf8 = input.getBytes(StandardCharsets.UTF_8);
+            for (int i = 0; i < utf8.length; ) {
+                int end = Math.min(utf8.length, i + 1 + rnd.nextInt(4));
+                invalidSeen |= parser.feed(ByteBuffer.wrap(utf8, i, end - i)) == IncrementalParser.State.INVALID;
+                i = end;
+            }
+        }
+        if (expected == null) {
+            assertNotEquals(IncrementalParser.State.COMPLETE, parser.state(), input);
+            assertThrows(IllegalArgumentException.class, parser::value, input);
+        } else {
+            assertFalse(invalidSeen, input);
+            assertEquals(IncrementalParser.State.COMPLETE, parser.state(), input);
+            assertEquals(expected.longValue(), parser.value(), input);
+        }
+    }
+
+    @Test
+    void tokenCursorMatchesReference() {
+        Random rnd = new Random(SEED + 9);
+        TokenCursor sizes = Sizes.cursor();
+        TokenCursor durations = Durations.cursor();
+        for (int n = 0; n < ITERATIONS; n++) {
+            String size = nextInput(rnd, SIZE_UNITS, 1);
+            Long expected = Reference.size(size, false);
+            if (expected != null) {
+                assertEquals(expected, cursorSum(sizes.reset(size)), size);
+            }
+            String duration = nextInput(rnd, DURATION_UNITS, 3);
+            expected = Reference.duration(duration, false);
+            if (expected != null) {
+                assertEquals(expected, cursorSum(durations.reset(duration)), duration);
+            }
+        }
+    }
+
+    /** Sum of all segment values, or null if a segment has no value or input remains. */
+    private static Long cursorSum(TokenCursor cursor) {
+        long sum = 0;
+        while (cursor.next()) {
+            if (!cursor.hasValue()) {
+                return null;
+            }
+            sum += cursor.value();
+        }
+        return cursor.atEnd() ? sum : null;
+    }
+
+    @Test
+    void extractorFindsEveryEmbeddedValue() {
+        Random rnd = new Random(SEED + 13);
+        String[] separators = {", ", " and ", "; ", " (", ") ", " | "};
+        String[] fillers = {"took", "wrote", "v1.2.3", "x5s", "5 mbps", "7 boxes", "2 sx", "-", "build 10.0.1"};
+        for (int n = 0; n < ITERATIONS / 10; n++) {
+            StringBuilder text = new StringBuilder();
+            List<String> expected = new ArrayList<>();
+            int items = rnd.nextInt(8);
+            for (int k = 0; k < items; k++) {
+                if (k > 0) {
+                    text.append(separators[rnd.nextInt(separators.length)]);
+                }
+                int start = text.length();
+                switch (rnd.nextInt(3)) {
+                    case 0:
+                        text.append(fillers[rnd.nextInt(fillers.length)]);
+                        continue;
+                    case 1:
+                        text.append(extractorSegment(rnd, SIZE_UNITS));
+                        expected.add("SIZE " + start + "-" + text.length() + " " + Reference.size(text.substring(start), false));
+                        break;
+                    default:
+                        int segments = 1 + rnd.nextInt(3);
+                        for (int g = 0; g < segments; g++) {
+                            text.append(g > 0 && rnd.nextBoolean() ? " " : "").append(extractorSegment(rnd, DURATION_UNITS));
+                        }
+                        expected.add("DURATION " + start + "-" + text.length() + " "
+                            + Reference.duration(text.substring(start), false));
+                        break;
+                }
+            }
+            List<String> actual = new ArrayList<>();
+            Extractor.scan(text, (kind, start, end, value) -> actual.add(kind + " " + start + "-" + end + " " + value));
+            assertEquals(expected, actual, text::toString);
+        }
+    }
+
+    /** Number (at most 4 integer digits, so sums stay in range) and unit, with optional blanks between them. */
+    private static String extractorSegment(Random rnd, String[] units) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(1 + rnd.nextInt(rnd.nextBoolean() ? 9 : 9999));
+        if (rnd.nextInt(4) == 0) {
+            sb.append('.').append(rnd.nextInt(1000));
+        }
+        sb.append(rnd.nextInt(3) == 0 ? " " : "");
+        return sb.append(randomCase(rnd, units[rnd.nextInt(units.length)])).toString();
+    }
+
+    // --- Formatter round trips ---
+
+    @Test
+    void durationFormatRoundTrip() {
+        Random rnd = new Random(SEED + 3);
+        for (int n = 0; n < ITERATIONS; n++) {
+            // format and formatHuman drop nanoseconds once there is a millisecond part; stay at ms precision for them.
+            Duration d = Duration.ofMillis(randomMagnitude(rnd, 1L << 43));
+            assertEquals(d, Durations.parse(DurationFormatter.format(d)), d::toString);
+            assertEquals(d, Durations.parse(DurationFormatter.formatHuman(d)), d::toString);
+            assertEquals(d, Durations.parse(DurationFormatter.formatCompact(d)), d::toString);
+            Duration sub = Duration.ofNanos(randomMagnitude(rnd, 999_999));
+            assertEquals(sub, Durations.parse(DurationFormatter.format(sub)), sub::toString);
+            assertEquals(sub, Durations.parse(DurationFormatter.formatHuman(sub)), sub::toString);
+            Duration any = Duration.ofNanos(randomMagnitude(rnd, Long.MAX_VALUE));
+            assertEquals(any, Durations.parse(DurationFormatter.formatCompact(any)), any::toString);
+        }
+    }
+
+    @Test
+    void sizeFormatRoundTrip() {
+        Random rnd = new Random(SEED + 4);
+        long[] decimal = {1, 1000L, 1000L * 1000, 1000L * 1000 * 1000, 1000L * 1000 * 1000 * 1000};
+        long[] binary = {1, 1L << 10, 1L << 20, 1L << 30, 1L << 40};
+        for (int n = 0; n < ITERATIONS; n++) {
+            long bytes = randomMagnitude(rnd, Long.MAX_VALUE / 2);
+            assertEquals(bytes, Sizes.parse(SizeFormatter.formatBytes(bytes)));
+            assertWithinFormatTolerance(bytes, SizeFormatter.format(bytes), decimal);
+            assertWithinFormatTolerance(bytes, SizeFormatter.formatBinary(bytes), binary);
+            // Exact unit multiples survive unchanged.
+            long exact = decimal[rnd.nextInt(decimal.length)] * rnd.nextInt(1000);
+            assertEquals(exact, Sizes.parse(SizeFormatter.format(exact)));
+            long exactBinary = binary[rnd.nextInt(binary.length)] * rnd.nextInt(1024);
+            assertEquals(exactBinary, Sizes.parse(SizeFormatter.formatBinary(exactBinary)));
+        }
+    }
+
+    @Test
+    void sizeFormatMatchesStringFormatReference() {
+        Random rnd = new Random(SEED + 6);
+        long[] decimal = {1, 1000L, 1000L * 1000, 1000L * 1000 * 1000, 1000L * 1000 * 1000 * 1000};
+        String[] suffixes = {"B", "KB", "MB", "GB", "TB"};
+        for (int n = 0; n < ITERATIONS; n++) {
+            long bytes = randomMagnitude(rnd, Long.MAX_VALUE);
+            int i = decimal.length - 1;
+            while (i > 0 && bytes < decimal[i]) {
+                i--;
+            }
+            String expected;
+            if (bytes % decimal[i] == 0) {
+                expected = (bytes / decimal[i]) + suffixes[i];
+            } else {
+                double value = (double) bytes / decimal[i];
+                expected = String.format(Locale.ROOT, value >= 100 ? "%.0f" : "%.1f", value) + suffixes[i];
+            }
+            assertEquals(expected, SizeFormatter.format(bytes), "value " + bytes);
+        }
+    }
+
+    @Test
+    void compiledFormatsMatchStringFormatReference() {
+        Random rnd = new Random(SEED + 12);
+        DurationFormat clock = DurationFormat.compile("{d}d {hh}:{mm}:{ss}.{SSSSSSSSS}");
+        SizeFormat binary = SizeFormat.compile("{v:.2} {unit:binary}");
+        long[] units = {1, 1L << 10, 1L << 20, 1L << 30, 1L << 40};
+        String[] suffixes = {"B", "KiB", "MiB", "GiB", "TiB"};
+        for (int n = 0; n < ITERATIONS; n++) {
+            long nanos = rnd.nextBoolean() ? -randomMagnitude(rnd, Long.MAX_VALUE) : randomMagnitude(rnd, Long.MAX_VALUE);
+            Duration d = Duration.ofNanos(nanos).abs();
+            String expected = String.format(Locale.ROOT, "%s%dd %02d:%02d:%02d.%09d", nanos < 0 ? "-" : "",
+                d.toDays(), d.toHours() % 24, d.toMinutes() % 60, d.getSeconds() % 60, d.getNano());
+            assertEquals(expected, clock.formatNanos(nanos), "nanos " + nanos);
+
+            long bytes = randomMagnitude(rnd, Long.MAX_VALUE);
+            int i = units.length - 1;
+            while (i > 0 && bytes < units[i]) {
+                i--;
+            }
+            BigDecimal value = BigDecimal.valueOf(bytes).divide(BigDecimal.valueOf(units[i]), 2, RoundingMode.HALF_UP);
+            assertEquals(value.toPlainString() + " " + suffixes[i], binary.format(bytes), "value " + bytes);
+        }
+    }
+
+    @Test
+    void batchFormatMatchesSingleValueFormat() {
+        Random rnd = new Random(SEED + 7);
+        for (int n = 0; n < ITERATIONS / 100; n++) {
+            long[] values = new long[rnd.nextInt(200)];
+            for (int k = 0; k < values.length; k++) {
+                values[k] = randomMagnitude(rnd, Long.MAX_VALUE);
+            }
+            FormattedColumn sizes = SizeFormatter.formatBatch(values);
+            FormattedColumn binary = SizeFormatter.formatBinaryBatch(values);
+            FormattedColumn durations = DurationFormatter.formatBatch(values);
+            FormattedColumn human = DurationFormatter.formatHumanBatch(values);
+            for (int k = 0; k < values.length; k++) {
+                Duration d = Duration.ofNanos(values[k]);
+                assertEquals(SizeFormatter.format(values[k]), sizes.get(k).toString());
+                assertEquals(SizeFormatter.formatBinary(values[k]), binary.get(k).toString());
+                assertEquals(DurationFormatter.format(d), durations.get(k).toString());
+                assertEquals(DurationFormatter.formatHuman(d), human.get(k).toString());
+            }
+        }
+    }
+
+    @Test
+    void sortOrderMatchesStableComparatorSort() {
+        Random rnd = new Random(SEED + 8);
+        for (int n = 0; n < ITERATIONS / 500; n++) {
+            int size = rnd.nextInt(200);
+            List<String> sizes = new ArrayList<>();
+            List<String> durations = new ArrayList<>();
+            for (int k = 0; k < size; k++) {
+                sizes.add(nextInput(rnd, SIZE_UNITS, 1));
+                durations.add(nextInput(rnd, DURATION_UNITS, 3));
+            }
+            UnparseablePolicy policy = rnd.nextBoolean() ? UnparseablePolicy.FIRST : UnparseablePolicy.LAST;
+            assertArrayEquals(comparatorOrder(sizes, Sizes.comparator(policy)), Sizes.sortOrder(sizes, policy));
+            assertArrayEquals(comparatorOrder(durations, Durations.comparator(policy)), Durations.sortOrder(durations, policy));
+        }
+    }
+
+    private static int[] comparatorOrder(List<String> values, Comparator<CharSequence> comparator) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < values.size(); i++) {
+            order.add(i);
+        }
+        order.sort((a, b) -> comparator.compare(values.get(a), values.get(b)));
+        return order.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    void columnFormatMatchesExactDecimalReference() {
+        Random rnd = new Random(SEED + 5);
+        for (int n = 0; n < ITERATIONS / 100; n++) {
+            int precision = rnd.nextInt(4);
+            long[] values = new long[1 + rnd.nextInt(50)];
+            for (int k = 0; k < values.length; k++) {
+                values[k] = randomMagnitude(rnd, 1L << 45);
+            }
+            String[] rows = Sizes.formatColumnBinary(values, precision).split("\n");
+            assertEquals(values.length, rows.length);
+            long max = Arrays.stream(values).max().getAsLong();
+            String[] suffixes = {"B", "KiB", "MiB", "GiB", "TiB"};
+            int u = 0;
+            while (u < 4 && max >= 1L << (10 * (u + 1))) {
+                u++;
+            }
+            for (int k = 0; k < values.length; k++) {
+                String expected = new BigDecimal(values[k])
+                    .divide(BigDecimal.valueOf(1L << (10 * u)), precision, RoundingMode.HALF_UP)
+                    .toPlainString() + suffixes[u];
+                assertEquals(expected, rows[k].trim(), "value " + values[k]);
+                assertEquals(rows[0].length(), rows[k].length());
+            }
+        }
+    }
+
+    // --- Generators ---
+
+    private static String nextInput(Random rnd, String[] units, int maxSegments) {
+        switch (rnd.nextInt(4)) {
+            case 0:
+                return validInput(rnd, units, maxSegments);
+            case 1:
+            case 2:
+                return mutate(rnd, validInput(rnd, units, maxSegments));
+            default:
+                return noise(rnd);
+        }
+    }
+
+    private static String validInput(Random rnd, String[] units, int maxSegments) {
+        StringBuilder sb = new StringBuilder();
+        if (rnd.nextInt(8) == 0) sb.append(' ');
+        int segments = 1 + rnd.nextInt(maxSegments);
+        for (int k = 0; k < segments; k++) {
+            if (k > 0 && rnd.nextBoolean()) sb.append(rnd.nextInt(6) == 0 ? "  " : " ");
+            sb.append(number(rnd));
+            if (rnd.nextInt(6) == 0) sb.append(' ');
+            sb.append(randomCase(rnd, units[rnd.nextInt(units.length)]));
+        }
+        if (rnd.nextInt(8) == 0) sb.append('\t');
+        return sb.toString();
+    }
+
+    private static String number(Random rnd) {
+        StringBuilder sb = new StringBuilder();
+        if (rnd.nextInt(20) == 0) sb.append(rnd.nextBoolean() ? '+' : '-');
+        int form = rnd.nextInt(6);
+        long whole = rnd.nextInt(4) == 0 ? randomMagnitude(rnd, 1L << 40) : rnd.nextInt(1000);
+        if (form != 4) sb.append(whole);
+        if (form >= 3) {
+            sb.append('.');
+            if (form != 5) sb.append(rnd.nextInt(1000));
+        }
+        return sb.toString();
+    }
+
+    private static String isoInput(Random rnd) {
+        StringBuilder sb = new StringBuilder();
+        if (rnd.nextInt(4) == 0) sb.append(rnd.nextBoolean() ? '-' : '+');
+        sb.append(rnd.nextBoolean() ? 'P' : 'p');
+        if (rnd.nextInt(3) == 0) sb.append(isoNumber(rnd, 1L << 17)).append(rnd.nextBoolean() ? 'D' : 'd');
+        if (rnd.nextInt(6) != 0) {
+            sb.append(rnd.nextBoolean() ? 'T' : 't');
+            if (rnd.nextBoolean()) sb.append(isoNumber(rnd, 1L << 21)).append('H');
+            if (rnd.nextBoolean()) sb.append(isoNumber(rnd, 1L << 27)).append('M');
+            if (rnd.nextBoolean()) {
+                sb.append(isoNumber(rnd, 1L << 33));
+                if (rnd.nextBoolean()) {
+                    sb.append(rnd.nextInt(4) == 0 ? ',' : '.');
+                    int digits = rnd.nextInt(11);
+                    for (int k = 0; k < digits; k++) sb.append((char) ('0' + rnd.nextInt(10)));
+                }
+                sb.append(rnd.nextBoolean() ? 'S' : 's');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String isoNumber(Random rnd, long max) {
+        String sign = rnd.nextInt(8) == 0 ? (rnd.nextBoolean() ? "-" : "+") : "";
+        return sign + randomMagnitude(rnd, max);
+    }
+
+    private static String mutate(Random rnd, String s) {
+        StringBuilder sb = new StringBuilder(s);
+        int edits = 1 + rnd.nextInt(3);
+        for (int k = 0; k < edits; k++) {
+            int at = sb.length() == 0 ? 0 : rnd.nextInt(sb.length() + 1);
+            switch (rnd.nextInt(3)) {
+                case 0:
+                    sb.insert(at, NOISE.charAt(rnd.nextInt(NOISE.length())));
+                    break;
+                case 1:
+                    if (at < sb.length()) sb.deleteCharAt(at);
+                    break;
+                default:
+                    if (at < sb.length()) sb.setCharAt(at, NOISE.charAt(rnd.nextInt(NOISE.length())));
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String noise(Random rnd) {
+        int len = rnd.nextInt(12);
+        StringBuilder sb = new StringBuilder(len);
+        for (int k = 0; k < len; k++) {
+            sb.append(NOISE.charAt(rnd.nextInt(NOISE.length())));
+        }
+        return sb.toString();
+    }
+
+    private static String randomCase(Random rnd, String unit) {
+        StringBuilder sb = new StringBuilder(unit.length());
+        for (int k = 0; k < unit.length(); k++) {
+            char c = unit.charAt(k);
+            sb.append(rnd.nextInt(3) == 0 ? Character.toUpperCase(c) : c);
+        }
+        return sb.toString();
+    }
+
+    /** Log-uniform magnitude so small, medium and huge values are all exercised. */
+    private static long randomMagnitude(Random rnd, long max) {
+        int bits = 64 - Long.numberOfLeadingZeros(max);
+        long bound = 1L << rnd.nextInt(bits);
+        long v = (rnd.nextLong() & Long.MAX_VALUE) % bound;
+        return Math.min(v, max);
+    }
+
+    // --- Assertions ---
+
+    private interface LongCall {
+        long call();
+    }
+
+    /** Asserts the call returns the expected value, or throws exactly IllegalArgumentException when expected is null. */
+    private static void assertMatches(String input, Long expected, LongCall call) {
+        long actual;
+        try {
+            actual = call.call();
+        } catch (IllegalArgumentException e) {
+            assertEquals(IllegalArgumentException.class, e.getClass(), () -> "error category for '" + input + "'");
+            assertNull(expected, () -> "rejected '" + input + "' (" + e.getMessage() + "), reference: " + expected);
+            return;
+        } catch (ArithmeticException e) {
+            // Only the test's own reduce(Math::addExact) can overflow; the reference sum must agree.
+            assertNull(expected, () -> "overflow summing '" + input + "'");
+            return;
+        }
+        assertEquals(expected, Long.valueOf(actual), () -> "value for '" + input + "'");
+    }
+
+    private static void assertWithinFormatTolerance(long bytes, String formatted, long[] units) {
+        int i = units.length - 1;
+        while (i > 0 && bytes < units[i]) {
+            i--;
+        }
+        double value = (double) bytes / units[i];
+        // One decimal below 100 units, none at or above.
+        long tolerance = (value >= 100 ? units[i] / 2 : units[i] / 20) + 1;
+        long parsed = Sizes.parse(formatted);
+        assertTrue(Math.abs(parsed - bytes) <= tolerance, () -> bytes + " -> " + formatted + " -> " + parsed);
+    }
+
+    private static Long[] referenceAll(String[] inputs, Function<String, Long> reference) {
+        Long[] out = new Long[inputs.length];
+        for (int k = 0; k < inputs.length; k++) {
+            out[k] = reference.apply(inputs[k]);
+        }
+        return out;
+    }
+
+    private static Long sum(Long[] values) {
+        long total = 0;
+        for (Long v : values) {
+            if (v == null) return null;
+            try {
+                total = Math.addExact(total, v);
+            } catch (ArithmeticException e) {
+                return null;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Straightforward model of the documented grammar: regex segmentation and exact {@code BigDecimal}
+     * arithmetic, rounded half up. Returns null for any input the library must reject.
+     */
+    static final class Reference {
+
+        private static final String NUMBER = "[+-]?(?:\\d+\\.?\\d*|\\.\\d+)";
+        private static final Pattern LENIENT_SEGMENT = Pattern.compile("\\s*(" + NUMBER + ")\\s*(\\p{L}+)");
+        private static final Pattern STRICT_SEGMENT = Pattern.compile("(" + NUMBER + ")(\\p{L}+)");
+        private static final Pattern STRICT_SEPARATOR = Pattern.compile("\\s?");
+
+        private static final Map<String, Long> NANOS = new HashMap<>();
+        private static final Map<String, Long> BYTES = new HashMap<>();
+        static {
+            long s = 1_000_000_000L;
+            long[] durationFactors = {1, 1_000L, 1_000L, 1_000L, 1_000_000L, s, 60 * s, 60 * s, 60 * s, 60 * s, 60 * s,
+                3600 * s, 3600 * s, 3600 * s, 3600 * s, 3600 * s, 86400 * s, 86400 * s, 86400 * s};
+            for (int k = 0; k < DURATION_UNITS.length; k++) {
+                NANOS.put(DURATION_UNITS[k], durationFactors[k]);
+            }
+            long[] sizeFactors = {1, 1, 1, (long) 1e3, (long) 1e6, (long) 1e9, (long) 1e12,
+                1L << 10, 1L << 20, 1L << 30, 1L << 40};
+            for (int k = 0; k < SIZE_UNITS.length; k++) {
+                BYTES.put(SIZE_UNITS[k], sizeFactors[k]);
+            }
+        }
+
+        static Long duration(String input, boolean strict) {
+            long[] segments = segments(input, strict, NANOS);
+            if (segments == null) return null;
+            long total = 0;
+            for (long v : segments) {
+                try {
+                    total = Math.addExact(total, v);
+                } catch (ArithmeticException e) {
+                    return null;
+                }
+            }
+            return total;
+        }
+
+        static Long size(String input, boolean strict) {
+            long[] segments = segments(input, strict, BYTES);
+            return segments == null || segments.length != 1 ? null : segments[0];
+        }
+
+        private static long[] segments(String input, boolean strict, Map<String, Long> units) {
+            if (input == null || input.trim().isEmpty()) return null;
+            if (strict && !input.equals(input.trim())) return null;
+            String s = input.trim();
+            Matcher segment = (strict ? STRICT_SEGMENT : LENIENT_SEGMENT).matcher(s);
+            Matcher separator = STRICT_SEPARATOR.matcher(s);
+            long[] out = new long[s.length()];
+            int count = 0;
+            int pos = 0;
+            while (pos < s.length()) {
+                if (strict && count > 0) {
+                    separator.region(pos, s.length());
+                    if (separator.lookingAt()) pos = separator.end();
+                }
+                segment.region(pos, s.length());
+                if (!segment.lookingAt()) return null;
+                Long factor = units.get(segment.group(2).toLowerCase(Locale.ROOT));
+                if (factor == null) return null;
+                BigDecimal value = new BigDecimal(segment.group(1));
+                if (value.signum() < 0) return null;
+                BigDecimal product = value.multiply(BigDecimal.valueOf(factor)).setScale(0, RoundingMode.HALF_UP);
+                if (product.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) > 0) return null;
+                out[count++] = product.longValueExact();
+                pos = segment.end();
+            }
+            return count == 0 ? null : Arrays.copyOf(out, count);
+        }
+    }
+}
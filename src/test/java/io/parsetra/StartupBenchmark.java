@@ -0,0 +1,85 @@
+package io.parsetra;
+
+import io.parsetra.duration.Durations;
+import io.parsetra.size.Sizes;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Cold-start benchmark: time to the first parse and format in a fresh JVM, which is dominated by class
+ * loading and static initialization rather than steady-state throughput.
+ * <p>
+ * Not a unit test. Run after {@code mvn test-compile}:
+ * <pre>
+ * java -cp target/classes:target/test-classes io.parsetra.StartupBenchmark [forks]
+ * </pre>
+ * Each fork reports the in-process time from entering {@code main} to the first parsed and formatted values,
+ * and the JVM uptime at that point.
+ */
+public final class StartupBenchmark {
+
+    private static final String CHILD = "--child";
+
+    private StartupBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && CHILD.equals(args[0])) {
+            runChild();
+            return;
+        }
+        int forks = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        String classpath = System.getProperty("java.class.path");
+        long[] firstParse = new long[forks];
+        long[] uptime = new long[forks];
+        long[] wall = new long[forks];
+        for (int i = 0; i < forks; i++) {
+            long start = System.nanoTime();
+            Process p = new ProcessBuilder(java, "-cp", classpath, StartupBenchmark.class.getName(), CHILD)
+                .redirectErrorStream(true)
+                .start();
+            String line;
+            try (BufferedReader r = new BufferedReader(new InputStreamReader(p.getInputStream(), StandardCharsets.UTF_8))) {
+                line = r.readLine();
+            }
+            if (p.waitFor() != 0 || line == null) {
+                throw new IllegalStateException("fork failed: " + line);
+            }
+            wall[i] = System.nanoTime() - start;
+            String[] parts = line.split(" ");
+            firstParse[i] = Long.parseLong(parts[0]);
+            uptime[i] = Long.parseLong(parts[1]);
+        }
+        System.out.printf("forks: %d (%s %s)%n", forks, System.getProperty("java.vm.name"), System.getProperty("java.version"));
+        report("first parse+format (us)", firstParse, 1_000);
+        report("jvm uptime at first result (ms)", uptime, 1);
+        report("process wall time (ms)", wall, 1_000_000);
+    }
+
+    private static void runChild() {
+        long start = System.nanoTime();
+        long bytes = Sizes.parse("64MiB");
+        long nanos = Durations.parse("2h 30m").toNanos();
+        String formatted = Sizes.format(bytes + 1) + Durations.format(Durations.parse("90s"));
+        long elapsed = System.nanoTime() - start;
+        // Touch the results so nothing is dead code, then report after measuring (management classes are heavy).
+        if (formatted.isEmpty() || nanos == 0) {
+            throw new AssertionError();
+        }
+        long uptimeMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        System.out.println(elapsed + " " + uptimeMs);
+    }
+
+    private static void report(String label, long[] values, long divisor) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-34s min %8.1f  median %8.1f  max %8.1f%n", label,
+            sorted[0] / (double) divisor, sorted[sorted.length / 2] / (double) divisor,
+            sorted[sorted.length - 1] / (double) divisor);
+    }
+}
@@ -1,8 +1,12 @@
 package io.parsetra.duration;
 
+import io.parsetra.util.UnparseablePolicy;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -71,4 +75,133 @@ class DurationsTest {
         assertThrows(IllegalArgumentException.class, () -> Durations.parse("invalid"));
         assertThrows(IllegalArgumentException.class, () -> Durations.parse("2x"));
     }
+
+    @Test
+    void parseNanos() {
+        assertEquals(Duration.ofMinutes(150).toNanos(), Durations.parseNanos("2h 30m"));
+        assertEquals(1_500_000L, Durations.parseNanos("1.5ms"));
+        assertThrows(IllegalArgumentException.class, () -> Durations.parseNanos("2x"));
+    }
+
+    @Test
+    void summingNanos() {
+        long total = Arrays.<CharSequence>asList("1s", "500ms", "1m").parallelStream().collect(Durations.summingNanos());
+        assertEquals(Duration.ofSeconds(61).plusMillis(500).toNanos(), total);
+    }
+
+    @Test
+    void streamNanosDelimited() {
+        assertArrayEquals(new long[] {5_000_000L, 3_600_000_000_000L}, Durations.streamNanos("5ms;1h", ';').toArray());
+        assertEquals(Duration.ofMinutes(90).toNanos(), Durations.streamNanos("1h 30m", ',').sum());
+    }
+
+    @Test
+    void formatColumn() {
+        long[] nanos = {Duration.ofSeconds(90).toNanos(), Duration.ofMillis(250).toNanos(), -Duration.ofMinutes(2).toNanos()};
+        assertEquals(" 1.50m\n 0.00m\n-2.00m\n", Durations.formatColumn(nanos, 2));
+        assertEquals("  5ms\n995ms\n", Durations.formatColumn(new long[] {5_000_000L, 994_999_999L}, 0));
+        assertEquals("-0.4s\n 1.0s\n", Durations.formatColumn(new long[] {-400_000_000L, 1_000_000_000L}, 1));
+        assertEquals("-30.0s\n 60.0s\n", Durations.formatColumn(new long[] {-30_000_000_000L, 59_999_999_999L}, 1));
+    }
+
+    @Test
+    void parseAnyDetectsSyntax() {
+        assertEquals(Duration.ofMinutes(150), Durations.parseAny("PT2H30M"));
+        assertEquals(Duration.ofDays(-1).minusMillis(500), Durations.parseAny("-P1DT0.5S"));
+        assertEquals(Duration.ofHours(1).plusMinutes(2).plusMillis(3500), Durations.parseAny("1h2m3.5s"));
+        assertEquals(Duration.ofNanos(1500), Durations.parseAny("1.5\u00b5s"));
+        assertEquals(Duration.ofMillis(-300), Durations.parseAny("-300ms"));
+        assertEquals(Duration.ofMinutes(150), Durations.parseAny(" 2h 30m "));
+        assertThrows(IllegalArgumentException.class, () -> Durations.parseAny("PT"));
+        assertThrows(IllegalArgumentException.class, () -> Durations.parseAny("P1H"));
+        assertThrows(IllegalArgumentException.class, () -> Durations.parseAny("2h -30m"));
+        assertThrows(IllegalArgumentException.class, () -> Durations.parseAny("-"));
+        assertThrows(IllegalArgumentException.class, () -> Durations.parseAny("+"));
+        assertThrows(IllegalArgumentException.class, () -> Durations.parseAny(" - "));
+    }
+
+    @Test
+    void parseSubMillisecondUnits() {
+        assertEquals(Duration.ofNanos(250), Durations.parse("250ns"));
+        assertEquals(Duration.ofNanos(1500), Durations.parse("1.5us"));
+        assertEquals("250ns", Durations.format(Durations.parse("250ns")));
+    }
+
+    @Test
+    void sortByParsedDuration() {
+        List<String> latencies = new ArrayList<>(Arrays.asList("2m", "n/a", "-1s", "250ms", "1.5s", "1500ms"));
+        Durations.sort(latencies, UnparseablePolicy.FIRST);
+        assertEquals(Arrays.asList("n/a", "-1s", "250ms", "1.5s", "1500ms", "2m"), latencies);
+        assertArrayEquals(new long[] {120_000_000_000L, 250_000_000L}, Durations.sortKeys(Arrays.asList("2m", "250ms")));
+        assertTrue(Durations.comparator().compare("1h", "59m") > 0);
+    }
+
+    @Test
+    void parseCanonicalSharesInstances() {
+        Duration thirty = Durations.parseCanonical("30s");
+        assertSame(thirty, Durations.parseCanonical(" 30 s"));
+        assertSame(thirty, Durations.parseCanonical("0.5m"));
+        assertSame(thirty, Durations.canonical(Duration.ofSeconds(30)));
+        assertSame(Durations.parseCanonical("12h"), Durations.parseCanonical("720m"));
+        assertSame(Duration.ZERO, Durations.parseCanonical("0s"));
+        // Outside the tables or not whole seconds: equal but not shared.
+        assertEquals(Duration.ofDays(2), Durations.parseCanonical("2d"));
+        assertNotSame(Durations.parseCanonical("2d"), Durations.parseCanonical("2d"));
+        assertEquals(Duration.ofMillis(1500), Durations.parseCanonical("1.5s"));
+        Duration odd = Duration.ofMillis(1500);
+        assertSame(odd, Durations.canonical(odd));
+    }
+
+    @Test
+    void parseNanosList() {
+        assertArrayEquals(new long[] {5_000_000L, 10_000_000L, 50_000_000L, 1_000_000_000L},
+            Durations.parseNanosList("5ms, 10ms, 50ms, 1s", ','));
+        assertArrayEquals(new long[] {5_400_000_000_000L, 1_500L}, Durations.parseNanosList("1h 30m; 1.5µs", ';'));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> Durations.parseNanosList("1s,2x", ','));
+        assertTrue(e.getMessage().contains("element 1") && e.getMessage().contains("unknown unit"), e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> Durations.parseNanosList("1s,2", ','));
+    }
+
+    @Test
+    void lazyDurationParsesOnFirstAccess() {
+        LazyDuration timeout = LazyDuration.of("30s");
+        assertFalse(timeout.isParsed());
+        assertSame(Durations.parseCanonical("30s"), timeout.get());
+        assertTrue(timeout.isParsed());
+        assertEquals(30_000_000_000L, timeout.nanos());
+        assertThrows(IllegalArgumentException.class, () -> LazyDuration.of("30 parsecs").get());
+        assertThrows(IllegalArgumentException.class, () -> LazyDuration.validated("30 parsecs"));
+        assertEquals(Duration.ofMillis(1500), LazyDuration.validated("1.5s").get());
+    }
+
+    @Test
+    void compiledFormat() {
+        DurationFormat clock = DurationFormat.compile("{d}d {hh}:{mm}:{ss}.{SSS}");
+        Duration d = Duration.ofDays(2).plusHours(3).plusMinutes(4).plusSeconds(5).plusMillis(67).plusNanos(890);
+        assertEquals("2d 03:04:05.067", clock.format(d));
+        assertEquals("-2d 03:04:05.067", clock.format(d.negated()));
+        assertEquals("0d 00:00:00.000", clock.format(Duration.ZERO));
+        assertEquals("26:00", DurationFormat.compile("{hh}:{mm}").format(Duration.ofHours(26)));
+        assertEquals("1d 90m", DurationFormat.compile("{d}d {m}m").format(Duration.ofMinutes(24 * 60 + 90)));
+        assertEquals("{5.000000001}", DurationFormat.compile("{{{s}.{SSSSSSSSS}}}").formatNanos(5_000_000_001L));
+        assertEquals("-106751d 23:47:16.854", clock.formatNanos(Long.MIN_VALUE));
+        assertEquals("01:30", DurationFormat.compile("{mm}:{ss}").formatBatch(new long[] {90_000_000_000L}).get(0).toString());
+        assertThrows(IllegalArgumentException.class, () -> DurationFormat.compile("{hm}"));
+        assertThrows(IllegalArgumentException.class, () -> DurationFormat.compile("{x}"));
+        assertThrows(IllegalArgumentException.class, () -> DurationFormat.compile("{SSSSSSSSSS}"));
+        assertThrows(IllegalArgumentException.class, () -> DurationFormat.compile("{}"));
+        assertThrows(IllegalArgumentException.class, () -> DurationFormat.compile("{h"));
+    }
+
+    @Test
+    void registeredUnitsApplyToAllParsePaths() {
+        assertThrows(IllegalArgumentException.class, () -> Durations.parse("2fortnights"));
+        Durations.registerUnit("fortnights", Duration.ofDays(14));
+        Durations.registerAlias("secs", "s");
+        assertEquals(Duration.ofDays(28).plusSeconds(5), Durations.parse("2 fortnights 5 SECS"));
+        assertEquals(Duration.ofDays(14), Durations.parseAny("1fortnights"));
+        assertEquals(Duration.ofSeconds(3), Durations.parseAny("3secs"));
+        assertThrows(IllegalArgumentException.class, () -> Durations.registerUnit("secs", Duration.ofMinutes(1)));
+        assertThrows(IllegalArgumentException.class, () -> Durations.registerUnit("eons", Duration.ofDays(1_000_000_000L)));
+    }
 }
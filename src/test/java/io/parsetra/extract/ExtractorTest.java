@@ -0,0 +1,49 @@
+package io.parsetra.extract;
+
+import io.parsetra.extract.Extractor.Kind;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExtractorTest {
+
+    private static List<String> scan(String text) {
+        List<String> matches = new ArrayList<>();
+        Extractor.scan(text, (kind, start, end, value) ->
+            matches.add(kind + " " + text.substring(start, end) + " = " + value));
+        return matches;
+    }
+
+    @Test
+    void findsSizesAndMergedDurations() {
+        assertEquals(Arrays.asList("DURATION 2h30m = 9000000000000", "SIZE 5.2GB = 5200000000"),
+            scan("request took 2h30m and wrote 5.2GB to disk"));
+        assertEquals(Arrays.asList("DURATION 1h 15 min = 4500000000000", "DURATION 250 µs = 250000"),
+            scan("[1h 15 min] gc pause 250 µs"));
+        assertEquals(Arrays.asList("SIZE 10 KiB = 10240", "DURATION 3S = 3000000000"), scan("10 KiB/s, 3S."));
+        assertEquals(Arrays.asList("DURATION 5s = 5000000000", "DURATION 10s = 10000000000"), scan("5s, 10s"));
+        assertEquals(Arrays.asList("DURATION 1h = 3600000000000", "SIZE 5GB = 5000000000"), scan("1h 5GB"));
+    }
+
+    @Test
+    void skipsWordsVersionsAndUnknownUnits() {
+        assertEquals(new ArrayList<String>(), scan("v2s 5 mbps 1.2.3GB x10ms 7 boxes 3minutesx 99999999999999999999GB"));
+        assertEquals(Arrays.asList("DURATION 1h = 3600000000000", "DURATION 5m = 300000000000"), scan("1h30 5m"));
+        assertEquals(Arrays.asList("SIZE 3GB = 3000000000"), scan("-3GB"));
+        assertEquals(new ArrayList<String>(), scan(""));
+    }
+
+    @Test
+    void scansSubrange() {
+        String text = "a 1s b 2s c";
+        List<Integer> starts = new ArrayList<>();
+        Extractor.scan(text, 4, text.length(), (kind, start, end, value) -> starts.add(start));
+        assertEquals(Arrays.asList(7), starts);
+        assertThrows(IndexOutOfBoundsException.class, () -> Extractor.scan(text, 4, 100, (k, s, e, v) -> {}));
+        assertThrows(IllegalArgumentException.class, () -> Extractor.scan(text, null));
+    }
+}
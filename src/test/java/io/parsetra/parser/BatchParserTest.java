@@ -0,0 +1,183 @@
+package io.parsetra.parser;
+
+import io.parsetra.duration.Durations;
+import io.parsetra.size.Sizes;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchParserTest {
+
+    /** Publishes the chunks on demand, synchronously, counting requests. */
+    private static final class ChunkPublisher<T> implements Flow.Publisher<T> {
+        private final Iterator<T> chunks;
+        long requested;
+        boolean cancelled;
+
+        ChunkPublisher(List<T> chunks) {
+            this.chunks = chunks.iterator();
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super T> s) {
+            s.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    requested += n;
+                    for (long i = 0; i < n && !cancelled; i++) {
+                        if (chunks.hasNext()) {
+                            s.onNext(chunks.next());
+                        } else {
+                            s.onComplete();
+                            return;
+                        }
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+
+    /** Copies every batch, since batches are reused after onNext. */
+    private static final class Recorder implements Flow.Subscriber<ParsedBatch> {
+        Flow.Subscription subscription;
+        final List<long[]> batches = new ArrayList<>();
+        final List<Long> offsets = new ArrayList<>();
+        final List<String> failures = new ArrayList<>();
+        boolean complete;
+        Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(ParsedBatch batch) {
+            batches.add(batch.toArray());
+            offsets.add(batch.offset());
+            for (ParsedBatch.Failure f : batch.failures()) {
+                failures.add((batch.offset() + f.index()) + ":" + f.input());
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            complete = true;
+        }
+
+        long[] all() {
+            return batches.stream().flatMapToLong(Arrays::stream).toArray();
+        }
+    }
+
+    @Test
+    void elementsSpanChunksAndFailuresAreReported() {
+        BatchParser<CharSequence> parser = Sizes.batchParser('\n', 2);
+        ChunkPublisher<CharSequence> upstream = new ChunkPublisher<>(Arrays.asList("10M", "B\n1KiB\nbogus\n2", "KB\n"));
+        Recorder down = new Recorder();
+        parser.subscribe(down);
+        upstream.subscribe(parser);
+        down.subscription.request(Long.MAX_VALUE);
+        assertTrue(down.complete);
+        assertArrayEquals(new long[] {10_000_000L, 1024L, 0L, 2000L}, down.all());
+        assertEquals(Arrays.asList(0L, 2L, 3L), down.offsets);
+        assertEquals(Arrays.asList("2:bogus"), down.failures);
+    }
+
+    @Test
+    void respectsDownstreamDemand() {
+        BatchParser<CharSequence> parser = Sizes.batchParser(',', 2);
+        ChunkPublisher<CharSequence> upstream = new ChunkPublisher<>(Arrays.asList("1B,2B,3B,4B,5B,", "6B,7B"));
+        Recorder down = new Recorder();
+        upstream.subscribe(parser);
+        parser.subscribe(down);
+        assertEquals(0, upstream.requested, "no chunk before demand");
+        down.subscription.request(1);
+        assertEquals(1, down.batches.size());
+        assertEquals(1, upstream.requested, "the first chunk's batches are buffered, not re-requested");
+        down.subscription.request(2);
+        assertEquals(3, down.batches.size());
+        assertEquals(1, upstream.requested);
+        down.subscription.request(10);
+        assertTrue(down.complete);
+        assertArrayEquals(new long[] {1, 2, 3, 4, 5, 6, 7}, down.all());
+        assertFalse(upstream.cancelled);
+    }
+
+    @Test
+    void cancelStopsUpstream() {
+        BatchParser<CharSequence> parser = Sizes.batchParser(',', 1);
+        ChunkPublisher<CharSequence> upstream = new ChunkPublisher<>(Arrays.asList("1B,2B", "3B"));
+        Recorder down = new Recorder();
+        upstream.subscribe(parser);
+        parser.subscribe(down);
+        down.subscription.request(1);
+        down.subscription.cancel();
+        down.subscription.request(5);
+        assertTrue(upstream.cancelled);
+        assertEquals(1, down.batches.size());
+        assertFalse(down.complete);
+    }
+
+    @Test
+    void nonPositiveRequestFailsAndCancelsUpstream() {
+        BatchParser<CharSequence> parser = Sizes.batchParser(',', 1);
+        ChunkPublisher<CharSequence> upstream = new ChunkPublisher<>(Arrays.asList("1B,2B"));
+        Recorder down = new Recorder();
+        upstream.subscribe(parser);
+        parser.subscribe(down);
+        down.subscription.request(0);
+        assertTrue(down.error instanceof IllegalArgumentException);
+        assertTrue(upstream.cancelled);
+        assertEquals(0, upstream.requested);
+
+        BatchParser<CharSequence> early = Sizes.batchParser(',', 1);
+        ChunkPublisher<CharSequence> late = new ChunkPublisher<>(Arrays.asList("1B"));
+        Recorder first = new Recorder();
+        early.subscribe(first);
+        first.subscription.request(-1);
+        late.subscribe(early);
+        assertTrue(late.cancelled, "an upstream arriving after the failure is cancelled");
+    }
+
+    @Test
+    void bytesWithMultiByteCharacterSplitAcrossBuffers() {
+        byte[] utf8 = "1.5µs\n2h\n".getBytes(StandardCharsets.UTF_8);
+        // Split inside the two-byte encoding of the micro sign.
+        List<ByteBuffer> chunks = Arrays.asList(ByteBuffer.wrap(utf8, 0, 4), ByteBuffer.wrap(utf8, 4, utf8.length - 4));
+        BatchParser<ByteBuffer> parser = Durations.nanosByteBatchParser('\n', 16);
+        Recorder down = new Recorder();
+        parser.subscribe(down);
+        new ChunkPublisher<>(chunks).subscribe(parser);
+        down.subscription.request(Long.MAX_VALUE);
+        assertTrue(down.complete);
+        assertArrayEquals(new long[] {1500L, 7_200_000_000_000L}, down.all());
+    }
+
+    @Test
+    void secondSubscriberIsRejected() {
+        BatchParser<CharSequence> parser = Sizes.batchParser(',', 4);
+        parser.subscribe(new Recorder());
+        Recorder second = new Recorder();
+        parser.subscribe(second);
+        assertTrue(second.error instanceof IllegalStateException);
+        assertThrows(IllegalArgumentException.class, () -> Sizes.batchParser(',', 0));
+    }
+}
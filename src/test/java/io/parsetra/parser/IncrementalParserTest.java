@@ -0,0 +1,69 @@
+package io.parsetra.parser;
+
+import io.parsetra.duration.Durations;
+import io.parsetra.parser.IncrementalParser.State;
+import io.parsetra.size.Sizes;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalParserTest {
+
+    @Test
+    void reportsStateAfterEachPiece() {
+        IncrementalParser p = Durations.incrementalNanosParser();
+        assertEquals(State.EMPTY, p.feed("  "));
+        assertEquals(State.INCOMPLETE, p.feed("1"));
+        assertEquals(State.INCOMPLETE, p.feed(" "));
+        assertEquals(State.COMPLETE, p.feed('h'));
+        assertEquals(3_600_000_000_000L, p.value());
+        assertEquals(State.INCOMPLETE, p.feed(" 3"));
+        assertEquals(State.COMPLETE, p.feed("0m"));
+        assertEquals(State.INCOMPLETE, p.feed("i"), "prefix of \"min\"");
+        assertEquals(State.COMPLETE, p.feed("n "));
+        assertEquals(5_400_000_000_000L, p.value());
+        assertEquals(State.INVALID, p.feed("x"));
+        assertNotNull(p.error());
+        assertThrows(IllegalArgumentException.class, p::value);
+        assertEquals(State.INVALID, p.feed("5s"), "invalid is sticky");
+        assertEquals(State.EMPTY, p.reset().state());
+    }
+
+    @Test
+    void sizeIsSingleSegment() {
+        IncrementalParser p = Sizes.incrementalParser();
+        assertEquals(State.COMPLETE, p.feed("1.5 GB"));
+        assertEquals(1_500_000_000L, p.value());
+        assertEquals(State.INVALID, p.feed(" 2GB"));
+        assertEquals(State.INVALID, p.reset().feed("-1"));
+        assertEquals(State.INVALID, p.reset().feed("10XB"));
+        assertEquals(State.INCOMPLETE, p.reset().feed("10Ki"));
+        assertThrows(IllegalArgumentException.class, p::value);
+    }
+
+    @Test
+    void overflowIsInvalidAsSoonAsNoUnitCanFit() {
+        IncrementalParser p = Durations.incrementalNanosParser();
+        assertEquals(State.INVALID, p.feed("99999999999999999999d"));
+        assertNotNull(p.error());
+        assertThrows(IllegalArgumentException.class, p::value);
+        assertEquals(State.INCOMPLETE, p.reset().feed("200000000000m"), "\"ms\" may still fit");
+        assertEquals(State.COMPLETE, p.feed("s"));
+        assertEquals(200_000_000_000_000_000L, p.value());
+    }
+
+    @Test
+    void bytesMaySplitMultiByteCharacters() {
+        byte[] utf8 = "1.5µs".getBytes(StandardCharsets.UTF_8);
+        IncrementalParser p = Durations.incrementalNanosParser();
+        for (byte b : utf8) {
+            p.feed(ByteBuffer.wrap(new byte[] {b}));
+        }
+        assertEquals(State.COMPLETE, p.state());
+        assertEquals(1500L, p.value());
+        assertEquals(State.INVALID, p.reset().feed(ByteBuffer.wrap(new byte[] {'1', (byte) 0xC0, (byte) 0x80})));
+    }
+}
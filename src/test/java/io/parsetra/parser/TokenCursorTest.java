@@ -0,0 +1,79 @@
+package io.parsetra.parser;
+
+import io.parsetra.duration.Durations;
+import io.parsetra.size.Sizes;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenCursorTest {
+
+    @Test
+    void segmentsExposeOffsetsAndValues() {
+        String s = "  2h 30 m1.5s";
+        TokenCursor c = Durations.cursor().reset(s);
+        assertTrue(c.next());
+        assertEquals("2", s.substring(c.numberStart(), c.numberEnd()));
+        assertEquals("h", s.substring(c.unitStart(), c.unitEnd()));
+        assertEquals(7_200_000_000_000L, c.value());
+        assertTrue(c.next());
+        assertEquals("m", s.substring(c.unitStart(), c.unitEnd()));
+        assertEquals(1_800_000_000_000L, c.value());
+        assertTrue(c.next());
+        assertEquals(1_500_000_000L, c.value());
+        assertFalse(c.next());
+        assertTrue(c.atEnd());
+    }
+
+    @Test
+    void stopsAtForeignSyntaxWithoutConsumingIt() {
+        String range = "5ms..1s";
+        TokenCursor c = Durations.cursor().reset(range);
+        assertTrue(c.next());
+        assertEquals(5_000_000L, c.value());
+        assertFalse(c.next());
+        assertEquals(3, c.position());
+        assertFalse(c.atEnd());
+        assertTrue(c.seek(c.position() + 2).next());
+        assertEquals(1_000_000_000L, c.value());
+
+        String rate = "10MB/s";
+        c = Sizes.cursor().reset(rate);
+        assertTrue(c.next());
+        assertEquals(10_000_000L, c.value());
+        assertEquals('/', rate.charAt(c.position()));
+    }
+
+    @Test
+    void unknownOrMissingUnitHasNoValue() {
+        TokenCursor c = Sizes.cursor().reset("10 parsecs, 7 , -3KB");
+        assertTrue(c.next());
+        assertEquals(-1, c.unitIndex());
+        assertFalse(c.hasValue());
+        assertThrows(IllegalStateException.class, c::value);
+        assertFalse(c.next());
+        assertEquals(',', "10 parsecs, 7 , -3KB".charAt(c.position()));
+        assertTrue(c.seek(c.position() + 1).next());
+        assertEquals(c.unitStart(), c.unitEnd(), "bare number");
+        assertFalse(c.hasValue());
+        assertFalse(c.next());
+        assertTrue(c.seek(c.position() + 1).next());
+        assertTrue(c.negative());
+        assertEquals(-3000L, c.value());
+    }
+
+    @Test
+    void resetToSubRangeKeepsAbsoluteOffsets() {
+        String config = "timeout=30s;retry=250ms";
+        TokenCursor c = Durations.cursor().reset(config, 8, 11);
+        assertTrue(c.next());
+        assertEquals(8, c.numberStart());
+        assertEquals(30_000_000_000L, c.value());
+        assertFalse(c.next());
+        assertTrue(c.atEnd());
+        c.reset(config, 18, config.length());
+        assertTrue(c.next());
+        assertEquals(250_000_000L, c.value());
+        assertTrue(new TokenCursor(null).reset("1h").next());
+    }
+}
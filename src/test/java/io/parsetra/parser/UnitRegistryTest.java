@@ -0,0 +1,92 @@
+package io.parsetra.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnitRegistryTest {
+
+    /** Distinct letters-only suffix for n: 0 -&gt; "a", 26 -&gt; "ba". */
+    private static String letters(int n) {
+        StringBuilder sb = new StringBuilder();
+        do {
+            sb.insert(0, (char) ('a' + n % 26));
+            n /= 26;
+        } while (n > 0);
+        return sb.toString();
+    }
+
+    private static UnitRegistry registry() {
+        return new UnitRegistry(new UnitTable(new String[] {"b", "kb", "KiB"}, new long[] {1, 1000, 1024}), "test");
+    }
+
+    @Test
+    void registrationPublishesNewTable() {
+        UnitRegistry registry = registry();
+        UnitTable before = registry.table();
+        registry.register("EiB", 1L << 60);
+        registry.alias("kilobytes", "KB");
+        UnitTable after = registry.table();
+        assertNotSame(before, after);
+        assertEquals(-1, before.indexOf("eib"), "published tables never change");
+        assertEquals(1L << 60, after.factor(after.indexOf("EIB")));
+        assertEquals(1000, after.factor(after.indexOf("Kilobytes")));
+        registry.register("eib", 1L << 60);
+        assertSame(after, registry.table(), "same factor is a no-op");
+        assertThrows(IllegalArgumentException.class, () -> registry.register("kb", 1024));
+        assertThrows(IllegalArgumentException.class, () -> registry.register("k b", 1));
+        assertThrows(IllegalArgumentException.class, () -> registry.register("x", 0));
+        assertThrows(IllegalArgumentException.class, () -> registry.alias("y", "nope"));
+    }
+
+    @Test
+    void hashedLookupMatchesNames() {
+        String[] names = new String[200];
+        long[] factors = new long[200];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "unit" + letters(i);
+            factors[i] = i + 1;
+        }
+        names[199] = "µs";
+        UnitTable table = new UnitTable(names, factors);
+        for (int i = 0; i < names.length; i++) {
+            int found = table.indexOf(i == 199 ? "µS" : names[i].toUpperCase(Locale.ROOT));
+            assertEquals(names[i], table.name(found), names[i]);
+        }
+        assertEquals(-1, table.indexOf("unit"));
+        assertEquals(-1, table.indexOf("unitzz"));
+        assertEquals(0, new UnitTable(new String[] {"m", "M"}, new long[] {1, 2}).indexOf("m"), "first entry wins");
+    }
+
+    @Test
+    void concurrentRegistrationsAreNotLost() throws InterruptedException {
+        UnitRegistry registry = registry();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            String prefix = "abcd".substring(t, t + 1);
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int k = 0; k < 50; k++) {
+                    registry.register(prefix + letters(k), k + 1);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(3 + 4 * 50, registry.table().size());
+    }
+}
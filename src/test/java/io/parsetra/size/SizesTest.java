@@ -1,7 +1,19 @@
 package io.parsetra.size;
 
+import io.parsetra.extract.Extractor;
+import io.parsetra.util.FormattedColumn;
+import io.parsetra.util.UnparseablePolicy;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class SizesTest {
@@ -57,4 +69,151 @@ class SizesTest {
         assertThrows(IllegalArgumentException.class, () -> Sizes.parse("10"));
         assertThrows(IllegalArgumentException.class, () -> Sizes.parse("10MX"));
     }
+
+    @Test
+    void summingBytes() {
+        long total = Arrays.<CharSequence>asList("10MB", "1.5KiB", " 2 gb ").stream().collect(Sizes.summingBytes());
+        assertEquals(10_000_000L + 1536L + 2_000_000_000L, total);
+        assertEquals(0L, Arrays.<CharSequence>asList().stream().collect(Sizes.summingBytes()));
+        assertThrows(IllegalArgumentException.class, () ->
+            Arrays.<CharSequence>asList("1MB", "bad").stream().collect(Sizes.summingBytes()));
+    }
+
+    @Test
+    void streamDelimited() {
+        assertArrayEquals(new long[] {1000L, 2048L, 3L}, Sizes.stream("1KB,2KiB,3B", ',').toArray());
+        assertArrayEquals(new long[] {1000L, 2000L}, Sizes.stream("1KB\n2KB\n", '\n').toArray());
+        assertEquals(0, Sizes.stream("", ',').count());
+        assertThrows(IllegalArgumentException.class, () -> Sizes.stream("1KB,,2KB", ',').sum());
+    }
+
+    @Test
+    void streamDelimitedParallelSplits() {
+        String text = IntStream.rangeClosed(1, 5000).mapToObj(i -> i + "KB").collect(Collectors.joining(","));
+        Spliterator.OfLong spliterator = Sizes.spliterator(text, ',');
+        assertNotNull(spliterator.trySplit());
+        long expected = 1000L * 5000L * 5001L / 2;
+        assertEquals(expected, Sizes.stream(text, ',').parallel().sum());
+        assertArrayEquals(Sizes.stream(text, ',').toArray(), Sizes.stream(text, ',').parallel().toArray());
+    }
+
+    @Test
+    void formatColumn() {
+        assertEquals("  0.50MB\n  1.54MB\n120.00MB\n", Sizes.formatColumn(new long[] {500_000L, 1_536_000L, 120_000_000L}, 2));
+        assertEquals("1KiB\n2KiB\n", Sizes.formatColumnBinary(new long[] {1024L, 1536L}, 0));
+        assertEquals("", Sizes.formatColumn(new long[0], 1));
+        StringBuilder out = new StringBuilder("size\n");
+        Sizes.formatColumn(new long[] {0L, 999L}, 1, out);
+        assertEquals("size\n  0.0B\n999.0B\n", out.toString());
+        assertThrows(IllegalArgumentException.class, () -> Sizes.formatColumn(new long[] {-1L}, 1));
+        assertThrows(IllegalArgumentException.class, () -> Sizes.formatColumn(new long[] {1L}, 10));
+    }
+
+    @Test
+    void formatBatch() throws IOException {
+        FormattedColumn column = Sizes.formatBatch(new long[] {1536L, 10_000_000L, 0L});
+        assertEquals(3, column.size());
+        assertEquals("1.5KB", column.get(0).toString());
+        assertEquals("10MB", column.get(1).toString());
+        assertEquals('M', column.get(1).charAt(2));
+        assertEquals("MB", column.get(1).subSequence(2, 4).toString());
+        assertEquals(2, column.length(2));
+        StringWriter out = new StringWriter();
+        column.writeTo(out, ',');
+        assertEquals("1.5KB,10MB,0B,", out.toString());
+        assertEquals("1.5KiB", Sizes.formatBinaryBatch(new long[] {1536L}).get(0).toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> column.get(3));
+
+        // Outgrows its estimates, so build() trims the doubled arrays.
+        FormattedColumn.Builder builder = new FormattedColumn.Builder(1, 1);
+        for (int i = 0; i < 20; i++) {
+            builder.append("v").append(Integer.toString(i)).endEntry();
+        }
+        FormattedColumn grown = builder.build();
+        assertEquals(20, grown.size());
+        assertEquals("v19", grown.get(19).toString());
+    }
+
+    @Test
+    void sortByParsedSize() {
+        List<String> listing = new ArrayList<>(Arrays.asList("2GiB", "10MB", "512KB", "1e3", "10000000B", "1.5GB"));
+        assertThrows(IllegalArgumentException.class, () -> Sizes.sort(new ArrayList<>(listing)));
+        Sizes.sort(listing, UnparseablePolicy.LAST);
+        assertEquals(Arrays.asList("512KB", "10MB", "10000000B", "1.5GB", "2GiB", "1e3"), listing);
+        assertArrayEquals(new int[] {5, 0, 1, 2, 3, 4}, Sizes.sortOrder(listing, UnparseablePolicy.FIRST));
+        assertArrayEquals(new long[] {512_000L, 10_000_000L}, Sizes.sortKeys(listing.subList(0, 2)));
+    }
+
+    @Test
+    void comparatorOrdersUnparseablePerPolicy() {
+        assertTrue(Sizes.comparator().compare("1KiB", "1KB") > 0);
+        assertEquals(0, Sizes.comparator().compare("1000B", "1KB"));
+        assertTrue(Sizes.comparator(UnparseablePolicy.FIRST).compare("junk", "1B") < 0);
+        assertTrue(Sizes.comparator(UnparseablePolicy.LAST).compare("junk", "1B") > 0);
+        assertThrows(IllegalArgumentException.class, () -> Sizes.comparator().compare("junk", "1B"));
+    }
+
+    @Test
+    void parseList() {
+        assertArrayEquals(new long[] {1_000_000_000L, 10_000_000_000L, 100_000_000_000L}, Sizes.parseList("1GB,10GB, 100 GB ", ','));
+        assertArrayEquals(new long[] {512L, 1024L}, Sizes.parseList("512B;1KiB;", ';'));
+        assertArrayEquals(new long[0], Sizes.parseList("  ", ','));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> Sizes.parseList("1GB,,2GB", ','));
+        assertTrue(e.getMessage().contains("element 1"), e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> Sizes.parseList("1GB 2GB", ','));
+        assertThrows(IllegalArgumentException.class, () -> Sizes.parseList("1GB,-2GB", ','));
+        assertThrows(IllegalArgumentException.class, () -> Sizes.parseList("1GB|2GB", ','));
+        assertThrows(IllegalArgumentException.class, () -> Sizes.parseList("1GB 2GB", ' '));
+    }
+
+    @Test
+    void lazySizeParsesOnFirstAccess() {
+        LazySize size = LazySize.of(" 64 MiB ");
+        assertFalse(size.isParsed());
+        assertEquals(64L << 20, size.bytes());
+        assertTrue(size.isParsed());
+        assertEquals(64L << 20, size.bytes());
+        assertEquals(" 64 MiB ", size.toString());
+        assertEquals(LazySize.of(" 64 MiB "), size);
+
+        LazySize typo = LazySize.of("64 MiBB");
+        assertThrows(IllegalArgumentException.class, typo::bytes);
+        assertFalse(typo.isParsed());
+        assertThrows(IllegalArgumentException.class, () -> LazySize.validated("64 MiBB"));
+        assertTrue(LazySize.validated("0B").isParsed());
+    }
+
+    @Test
+    void compiledFormat() {
+        SizeFormat binary = SizeFormat.compile("{v:.2}{unit:binary}");
+        assertEquals("1.50KiB", binary.format(1536));
+        assertEquals("0.00B", binary.format(0));
+        assertEquals("1.5KB (1536 bytes)", SizeFormat.compile("{v}{unit} ({bytes} bytes)").format(1536));
+        assertEquals(Sizes.format(123_456_789), SizeFormat.compile("{v}{unit}").format(123_456_789));
+        assertEquals("{0.5 MiB}", SizeFormat.compile("{{{v:.1} {unit:MiB}}}").format(512 * 1024));
+        FormattedColumn column = SizeFormat.compile("{v:.1} {unit}").formatBatch(new long[] {1500, 999_999});
+        assertEquals("1.5 KB", column.get(0).toString());
+        assertEquals("1000.0 KB", column.get(1).toString());
+        assertThrows(IllegalArgumentException.class, () -> binary.format(-1));
+        assertThrows(IllegalArgumentException.class, () -> SizeFormat.compile("{v:.10}"));
+        assertThrows(IllegalArgumentException.class, () -> SizeFormat.compile("{unit:binary}{unit}"));
+        assertThrows(IllegalArgumentException.class, () -> SizeFormat.compile("{unit:XB}"));
+        assertThrows(IllegalArgumentException.class, () -> SizeFormat.compile("{size}"));
+        assertThrows(IllegalArgumentException.class, () -> SizeFormat.compile("{v"));
+        assertThrows(IllegalArgumentException.class, () -> SizeFormat.compile("v}"));
+    }
+
+    @Test
+    void registeredUnitsApplyToAllParsePaths() {
+        assertThrows(IllegalArgumentException.class, () -> Sizes.parse("3 blocks"));
+        Sizes.registerUnit("blocks", 512);
+        Sizes.registerAlias("kilobytes", "KB");
+        assertEquals(1536, Sizes.parse("3 Blocks"));
+        assertEquals(2000, Sizes.parseStrict("2kilobytes"));
+        assertArrayEquals(new long[] {512, 1000}, Sizes.parseList("1blocks, 1 kilobytes", ','));
+        List<Long> found = new ArrayList<>();
+        Extractor.scan("copied 4 blocks", (kind, start, end, value) -> found.add(value));
+        assertEquals(Arrays.asList(2048L), found);
+        assertThrows(IllegalArgumentException.class, () -> Sizes.registerUnit("blocks", 4096));
+    }
 }